@@ -42,6 +42,7 @@ import org.geysermc.connector.utils.LanguageUtils;
 import org.geysermc.platform.spigot.command.GeyserSpigotCommandExecutor;
 import org.geysermc.platform.spigot.command.GeyserSpigotCommandManager;
 import org.geysermc.platform.spigot.world.GeyserSpigotBlockPlaceListener;
+import org.geysermc.platform.spigot.world.GeyserSpigotChunkSnapshotCache;
 import org.geysermc.platform.spigot.world.GeyserSpigotWorldManager;
 
 import java.io.File;
@@ -123,10 +124,16 @@ public class GeyserSpigotPlugin extends JavaPlugin implements GeyserBootstrap {
         if (isLegacy)
             geyserLogger.debug("Legacy version of Minecraft (1.12.2 or older) detected.");
 
-        this.geyserWorldManager = new GeyserSpigotWorldManager(isLegacy, isViaVersion);
-        this.blockPlaceListener = new GeyserSpigotBlockPlaceListener(connector, isLegacy, isViaVersion);
+        GeyserSpigotChunkSnapshotCache snapshotCache = new GeyserSpigotChunkSnapshotCache(connector);
+        this.geyserWorldManager = new GeyserSpigotWorldManager(this, isLegacy, isViaVersion, snapshotCache);
+        this.blockPlaceListener = new GeyserSpigotBlockPlaceListener(connector, geyserWorldManager, isLegacy, isViaVersion);
 
         Bukkit.getServer().getPluginManager().registerEvents(blockPlaceListener, this);
+        Bukkit.getServer().getPluginManager().registerEvents(geyserWorldManager, this);
+        if (!isLegacy) {
+            Bukkit.getServer().getPluginManager().registerEvents(snapshotCache, this);
+            Bukkit.getScheduler().runTaskTimer(this, snapshotCache, 1, 1);
+        }
 
         this.getCommand("geyser").setExecutor(new GeyserSpigotCommandExecutor(connector));
 
@@ -30,7 +30,6 @@ import com.nukkitx.math.vector.Vector3f;
 import com.nukkitx.protocol.bedrock.data.SoundEvent;
 import com.nukkitx.protocol.bedrock.packet.LevelSoundEventPacket;
 import lombok.AllArgsConstructor;
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockPlaceEvent;
@@ -42,25 +41,26 @@ import org.geysermc.connector.network.translators.world.block.BlockTranslator;
 public class GeyserSpigotBlockPlaceListener implements Listener {
 
     private final GeyserConnector connector;
+    private final GeyserSpigotWorldManager worldManager;
     private final boolean isLegacy;
     private final boolean isViaVersion;
 
     @EventHandler
     public void place(final BlockPlaceEvent event) {
         for (GeyserSession session : connector.getPlayers()) {
-            if (event.getPlayer() == Bukkit.getPlayer(session.getPlayerEntity().getUsername())) {
+            if (session.getPlayerEntity() != null && event.getPlayer() == worldManager.getPlayer(session)) {
                 LevelSoundEventPacket placeBlockSoundPacket = new LevelSoundEventPacket();
                 placeBlockSoundPacket.setSound(SoundEvent.PLACE);
                 placeBlockSoundPacket.setPosition(Vector3f.from(event.getBlockPlaced().getX(), event.getBlockPlaced().getY(), event.getBlockPlaced().getZ()));
                 placeBlockSoundPacket.setBabySound(false);
-                String javaBlockId;
+                int javaBlockId;
                 if (isLegacy) {
-                    javaBlockId = BlockTranslator.getJavaIdBlockMap().inverse().get(GeyserSpigotWorldManager.getLegacyBlock(session,
-                            event.getBlockPlaced().getX(), event.getBlockPlaced().getY(), event.getBlockPlaced().getZ(), isViaVersion));
+                    javaBlockId = GeyserSpigotWorldManager.getLegacyBlock(session,
+                            event.getBlockPlaced().getX(), event.getBlockPlaced().getY(), event.getBlockPlaced().getZ(), isViaVersion);
                 } else {
-                    javaBlockId = event.getBlockPlaced().getBlockData().getAsString();
+                    javaBlockId = worldManager.getJavaBlockId(event.getBlockPlaced().getBlockData());
                 }
-                placeBlockSoundPacket.setExtraData(BlockTranslator.getBedrockBlockId(BlockTranslator.getJavaIdBlockMap().get(javaBlockId)));
+                placeBlockSoundPacket.setExtraData(BlockTranslator.getBedrockBlockId(javaBlockId));
                 placeBlockSoundPacket.setIdentifier(":");
                 session.sendUpstreamPacket(placeBlockSoundPacket);
                 session.setLastBlockPlacePosition(null);
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ *
+ *  @author GeyserMC
+ *  @link https://github.com/GeyserMC/Geyser
+ *
+ */
+
+package org.geysermc.platform.spigot.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPhysicsEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.network.session.GeyserSession;
+import org.geysermc.connector.utils.MathUtils;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Snapshots of the chunks Geyser players are reading blocks from.
+ *
+ * Bukkit worlds may only be read from the main thread, but block lookups for collision come from Netty threads.
+ * Snapshots are taken on the main thread every tick for the chunks around every Geyser player and the chunks that were
+ * requested, and can then be read from any thread. A snapshot is taken again after {@link #REFRESH_TICKS} ticks or
+ * when a block in it changes.
+ */
+public class GeyserSpigotChunkSnapshotCache implements Runnable, Listener {
+
+    // Snapshots still in use are taken again after this many ticks
+    private static final int REFRESH_TICKS = 5;
+    // Snapshots that weren't read for this many ticks are dropped
+    private static final int EXPIRE_TICKS = 100;
+    // Chunks within this many chunks of a Geyser player are always kept
+    private static final int PLAYER_RADIUS = 1;
+
+    private final GeyserConnector connector;
+
+    private final Map<UUID, Long2ObjectMap<CachedSnapshot>> snapshots = new HashMap<>();
+    private final Map<UUID, LongSet> requested = new HashMap<>();
+
+    private volatile int currentTick = 0;
+
+    public GeyserSpigotChunkSnapshotCache(GeyserConnector connector) {
+        this.connector = connector;
+    }
+
+    /**
+     * Get the latest snapshot of a chunk. Can be called from any thread.
+     *
+     * @param world the world of the chunk
+     * @param chunkX the chunk's X coordinate
+     * @param chunkZ the chunk's Z coordinate
+     * @return the snapshot or null if it will be taken on the next tick
+     */
+    public ChunkSnapshot getSnapshot(World world, int chunkX, int chunkZ) {
+        UUID worldId = world.getUID();
+        long position = MathUtils.chunkPositionToLong(chunkX, chunkZ);
+        int tick = currentTick;
+        synchronized (this) {
+            Long2ObjectMap<CachedSnapshot> worldSnapshots = snapshots.get(worldId);
+            CachedSnapshot cached = worldSnapshots == null ? null : worldSnapshots.get(position);
+            if (cached == null) {
+                request(worldId, position);
+                return null;
+            }
+
+            cached.lastRead = tick;
+            if (tick - cached.takenAt >= REFRESH_TICKS) {
+                request(worldId, position);
+            }
+            return cached.snapshot;
+        }
+    }
+
+    private void request(UUID worldId, long position) {
+        requested.computeIfAbsent(worldId, id -> new LongOpenHashSet()).add(position);
+    }
+
+    /**
+     * Takes the requested snapshots. Runs on the main thread every tick.
+     */
+    @Override
+    public void run() {
+        int tick = ++currentTick;
+
+        for (GeyserSession session : connector.getPlayers()) {
+            if (session.getPlayerEntity() == null) {
+                continue;
+            }
+            Player player = Bukkit.getPlayerExact(session.getPlayerEntity().getUsername());
+            if (player != null) {
+                keepAround(player, tick);
+            }
+        }
+
+        Map<UUID, LongSet> toTake;
+        synchronized (this) {
+            if (requested.isEmpty()) {
+                toTake = null;
+            } else {
+                toTake = new HashMap<>(requested);
+                requested.clear();
+            }
+        }
+
+        if (toTake != null) {
+            for (Map.Entry<UUID, LongSet> entry : toTake.entrySet()) {
+                World world = Bukkit.getWorld(entry.getKey());
+                if (world == null) {
+                    continue;
+                }
+                for (long position : entry.getValue()) {
+                    int chunkX = (int) (position >> 32);
+                    int chunkZ = (int) position;
+                    // Don't load chunks just for collision
+                    if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                        continue;
+                    }
+                    ChunkSnapshot snapshot = world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false);
+                    synchronized (this) {
+                        snapshots.computeIfAbsent(entry.getKey(), id -> new Long2ObjectOpenHashMap<>())
+                                .put(position, new CachedSnapshot(snapshot, tick, tick));
+                    }
+                }
+            }
+        }
+
+        synchronized (this) {
+            Iterator<Long2ObjectMap<CachedSnapshot>> worlds = snapshots.values().iterator();
+            while (worlds.hasNext()) {
+                Long2ObjectMap<CachedSnapshot> worldSnapshots = worlds.next();
+                worldSnapshots.values().removeIf(cached -> tick - cached.lastRead > EXPIRE_TICKS);
+                if (worldSnapshots.isEmpty()) {
+                    worlds.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Request the chunks around a player that are missing or out of date, and keep the others from expiring
+     */
+    private synchronized void keepAround(Player player, int tick) {
+        UUID worldId = player.getWorld().getUID();
+        Long2ObjectMap<CachedSnapshot> worldSnapshots = snapshots.get(worldId);
+        int playerChunkX = player.getLocation().getBlockX() >> 4;
+        int playerChunkZ = player.getLocation().getBlockZ() >> 4;
+        for (int chunkX = playerChunkX - PLAYER_RADIUS; chunkX <= playerChunkX + PLAYER_RADIUS; chunkX++) {
+            for (int chunkZ = playerChunkZ - PLAYER_RADIUS; chunkZ <= playerChunkZ + PLAYER_RADIUS; chunkZ++) {
+                long position = MathUtils.chunkPositionToLong(chunkX, chunkZ);
+                CachedSnapshot cached = worldSnapshots == null ? null : worldSnapshots.get(position);
+                if (cached != null) {
+                    cached.lastRead = tick;
+                }
+                if (cached == null || tick - cached.takenAt >= REFRESH_TICKS) {
+                    request(worldId, position);
+                }
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        refresh(event.getBlockPlaced());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        refresh(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPhysics(BlockPhysicsEvent event) {
+        refresh(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        refresh(event.getBlock());
+        for (Block block : event.getBlocks()) {
+            refresh(block);
+            refresh(block.getRelative(event.getDirection()));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        refresh(event.getBlock());
+        for (Block block : event.getBlocks()) {
+            refresh(block);
+            refresh(block.getRelative(event.getDirection()));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        for (Block block : event.blockList()) {
+            refresh(block);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        refresh(event.getBlock());
+        for (Block block : event.blockList()) {
+            refresh(block);
+        }
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        synchronized (this) {
+            snapshots.remove(event.getWorld().getUID());
+            requested.remove(event.getWorld().getUID());
+        }
+    }
+
+    /**
+     * Take the snapshot of the chunk containing the block again on the next tick, if it is in use
+     */
+    private void refresh(Block block) {
+        UUID worldId = block.getWorld().getUID();
+        long position = MathUtils.chunkPositionToLong(block.getX() >> 4, block.getZ() >> 4);
+        synchronized (this) {
+            Long2ObjectMap<CachedSnapshot> worldSnapshots = snapshots.get(worldId);
+            if (worldSnapshots != null && worldSnapshots.containsKey(position)) {
+                request(worldId, position);
+            }
+        }
+    }
+
+    private static class CachedSnapshot {
+        private final ChunkSnapshot snapshot;
+        private final int takenAt;
+        private int lastRead;
+
+        private CachedSnapshot(ChunkSnapshot snapshot, int takenAt, int lastRead) {
+            this.snapshot = snapshot;
+            this.takenAt = takenAt;
+            this.lastRead = lastRead;
+        }
+    }
+}
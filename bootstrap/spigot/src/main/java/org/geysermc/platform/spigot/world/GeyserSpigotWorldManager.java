@@ -26,22 +26,47 @@
 
 package org.geysermc.platform.spigot.world;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
 import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
 import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.network.translators.world.WorldManager;
 import org.geysermc.connector.network.translators.world.block.BlockTranslator;
 import us.myles.ViaVersion.protocols.protocol1_13_1to1_13.Protocol1_13_1To1_13;
 import us.myles.ViaVersion.protocols.protocol1_16to1_15_2.data.MappingData;
 
-@AllArgsConstructor
-public class GeyserSpigotWorldManager extends WorldManager {
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+@RequiredArgsConstructor
+public class GeyserSpigotWorldManager extends WorldManager implements Listener {
+
+    // How long a block lookup waits for the main thread when there is no snapshot yet
+    private static final long SYNC_LOOKUP_TIMEOUT_MILLIS = 50;
+
+    private final Plugin plugin;
     private final boolean isLegacy;
     // You need ViaVersion to connect to an older server with Geyser.
     // However, we still check for ViaVersion in case there's some other way that gets Geyser on a pre-1.13 Bukkit server
     private final boolean isViaVersion;
+    private final GeyserSpigotChunkSnapshotCache snapshotCache;
+
+    // Bukkit players of Geyser sessions by username, removed when they quit
+    private final Map<String, Player> players = new ConcurrentHashMap<>();
+    // BlockData equality compares the underlying block state, so this is a lookup by state rather than by string
+    private final Map<BlockData, Integer> javaBlockIds = new ConcurrentHashMap<>();
 
     @Override
     public int getBlockAt(GeyserSession session, int x, int y, int z) {
@@ -51,7 +76,89 @@ public class GeyserSpigotWorldManager extends WorldManager {
         if (isLegacy) {
             return getLegacyBlock(session, x, y, z, isViaVersion);
         }
-        return BlockTranslator.getJavaIdBlockMap().get(Bukkit.getPlayer(session.getPlayerEntity().getUsername()).getWorld().getBlockAt(x, y, z).getBlockData().getAsString());
+
+        Player player = getPlayer(session);
+        if (player == null) {
+            return BlockTranslator.AIR;
+        }
+        World world = player.getWorld();
+        if (y < 0 || y >= world.getMaxHeight()) {
+            return BlockTranslator.AIR;
+        }
+
+        ChunkSnapshot snapshot = snapshotCache.getSnapshot(world, x >> 4, z >> 4);
+        if (snapshot == null) {
+            // The snapshot is taken on the next tick; the world itself must not be read off the main thread
+            return getBlockSync(world, x, y, z);
+        }
+        return getJavaBlockId(snapshot.getBlockData(x & 0xF, y, z & 0xF));
+    }
+
+    /**
+     * Read a block from the world on the main thread, waiting at most {@link #SYNC_LOOKUP_TIMEOUT_MILLIS}
+     *
+     * @return the Java block state, or air if the main thread didn't answer in time
+     */
+    private int getBlockSync(World world, int x, int y, int z) {
+        if (Bukkit.isPrimaryThread()) {
+            return readBlock(world, x, y, z);
+        }
+
+        Future<Integer> future = Bukkit.getScheduler().callSyncMethod(plugin, () -> readBlock(world, x, y, z));
+        try {
+            return future.get(SYNC_LOOKUP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ignored) {
+        }
+        future.cancel(false);
+        return BlockTranslator.AIR;
+    }
+
+    private int readBlock(World world, int x, int y, int z) {
+        // Don't load chunks just for collision
+        if (!world.isChunkLoaded(x >> 4, z >> 4)) {
+            return BlockTranslator.AIR;
+        }
+        return getJavaBlockId(world.getBlockAt(x, y, z).getBlockData());
+    }
+
+    /**
+     * Get the Java block state of Bukkit block data
+     *
+     * @param blockData the block data
+     * @return the Java block state
+     */
+    public int getJavaBlockId(BlockData blockData) {
+        Integer javaId = javaBlockIds.get(blockData);
+        if (javaId == null) {
+            javaId = BlockTranslator.getJavaIdBlockMap().getOrDefault(blockData.getAsString(), BlockTranslator.AIR);
+            javaBlockIds.put(blockData, javaId);
+        }
+        return javaId;
+    }
+
+    /**
+     * Get the Bukkit player of a session
+     *
+     * @param session the Geyser session
+     * @return the player or null if they aren't online
+     */
+    public Player getPlayer(GeyserSession session) {
+        String username = session.getPlayerEntity().getUsername();
+        Player player = players.get(username);
+        if (player == null) {
+            player = Bukkit.getPlayerExact(username);
+            if (player != null) {
+                players.put(username, player);
+            }
+        }
+        return player;
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        players.values().remove(event.getPlayer());
     }
 
     @SuppressWarnings("deprecation")
@@ -44,6 +44,8 @@ public class GeyserSpongeConfiguration implements GeyserConfiguration {
     private SpongeBedrockConfiguration bedrockConfig;
     private SpongeRemoteConfiguration remoteConfig;
     private SpongeMetricsInfo metricsInfo;
+    private SpongeEventTimingsInfo eventTimingsInfo;
+    private SpongeLoginInfo loginInfo;
 
     private Map<String, SpongeUserAuthenticationInfo> userAuthInfo = new HashMap<>();
 
@@ -54,6 +56,8 @@ public class GeyserSpongeConfiguration implements GeyserConfiguration {
         this.bedrockConfig = new SpongeBedrockConfiguration(node.getNode("bedrock"));
         this.remoteConfig = new SpongeRemoteConfiguration(node.getNode("remote"));
         this.metricsInfo = new SpongeMetricsInfo();
+        this.eventTimingsInfo = new SpongeEventTimingsInfo();
+        this.loginInfo = new SpongeLoginInfo();
 
         if (node.getNode("userAuths").getValue() == null)
             return;
@@ -119,6 +123,16 @@ public class GeyserSpongeConfiguration implements GeyserConfiguration {
         return node.getNode("genereal-thread-pool").getInt(32);
     }
 
+    @Override
+    public int getAsyncEventThreads() {
+        return node.getNode("async-event-threads").getInt(4);
+    }
+
+    @Override
+    public int getAsyncEventQueueSize() {
+        return node.getNode("async-event-queue-size").getInt(1024);
+    }
+
     @Override
     public boolean isAllowThirdPartyCapes() {
         return node.getNode("allow-third-party-capes").getBoolean(true);
@@ -149,6 +163,31 @@ public class GeyserSpongeConfiguration implements GeyserConfiguration {
         return node.getNode("cache-chunks").getBoolean(false);
     }
 
+    @Override
+    public int getChunkTranslationCacheSize() {
+        return node.getNode("chunk-translation-cache-size").getInt(32);
+    }
+
+    @Override
+    public boolean isShareChunkCache() {
+        return node.getNode("share-chunk-cache").getBoolean(true);
+    }
+
+    @Override
+    public boolean isCacheChunkBlobs() {
+        return node.getNode("cache-chunk-blobs").getBoolean(true);
+    }
+
+    @Override
+    public boolean isCoalesceEntityUpdates() {
+        return node.getNode("coalesce-entity-updates").getBoolean(true);
+    }
+
+    @Override
+    public int getItemTranslationCacheSize() {
+        return node.getNode("item-translation-cache-size").getInt(4096);
+    }
+
 
     @Override
     public boolean isAllowCustomSkulls() {
@@ -165,6 +204,16 @@ public class GeyserSpongeConfiguration implements GeyserConfiguration {
         return metricsInfo;
     }
 
+    @Override
+    public SpongeEventTimingsInfo getEventTimings() {
+        return eventTimingsInfo;
+    }
+
+    @Override
+    public SpongeLoginInfo getLogin() {
+        return loginInfo;
+    }
+
     @AllArgsConstructor
     public class SpongeBedrockConfiguration implements IBedrockConfiguration {
 
@@ -259,6 +308,47 @@ public class GeyserSpongeConfiguration implements GeyserConfiguration {
         }
     }
 
+    public class SpongeEventTimingsInfo implements IEventTimingsInfo {
+
+        @Override
+        public boolean isEnabled() {
+            return node.getNode("event-timings").getNode("enabled").getBoolean(false);
+        }
+
+        @Override
+        public int getWarnThreshold() {
+            return node.getNode("event-timings").getNode("warn-threshold").getInt(5);
+        }
+    }
+
+    public class SpongeLoginInfo implements ILoginInfo {
+
+        @Override
+        public int getThreads() {
+            return node.getNode("login").getNode("threads").getInt(4);
+        }
+
+        @Override
+        public int getAuthThreads() {
+            return node.getNode("login").getNode("auth-threads").getInt(8);
+        }
+
+        @Override
+        public int getQueueSize() {
+            return node.getNode("login").getNode("queue-size").getInt(256);
+        }
+
+        @Override
+        public int getMaxPerAddress() {
+            return node.getNode("login").getNode("max-per-address").getInt(10);
+        }
+
+        @Override
+        public int getKeyPoolSize() {
+            return node.getNode("login").getNode("key-pool-size").getInt(16);
+        }
+    }
+
     @Override
     public int getConfigVersion() {
         return node.getNode("config-version").getInt(0);
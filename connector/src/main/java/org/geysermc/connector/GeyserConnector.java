@@ -41,17 +41,24 @@ import org.geysermc.connector.event.EventManager;
 import org.geysermc.connector.configuration.GeyserConfiguration;
 import org.geysermc.connector.event.events.geyser.GeyserStartEvent;
 import org.geysermc.connector.metrics.Metrics;
+import org.geysermc.connector.metrics.StatsProvider;
 import org.geysermc.connector.network.ConnectorServerEventHandler;
 import org.geysermc.connector.network.remote.RemoteServer;
 import org.geysermc.connector.network.session.GeyserSession;
+import org.geysermc.connector.network.session.auth.LoginExecutor;
+import org.geysermc.connector.network.session.cache.ChunkCache;
+import org.geysermc.connector.network.session.cache.EntityUpdateBuffer;
+import org.geysermc.connector.network.session.cache.SharedSectionStore;
 import org.geysermc.connector.network.translators.EntityIdentifierRegistry;
 import org.geysermc.connector.network.translators.effect.EffectRegistry;
 import org.geysermc.connector.network.translators.item.ItemRegistry;
+import org.geysermc.connector.network.translators.item.ItemTranslationCache;
 import org.geysermc.connector.network.translators.item.ItemTranslator;
 import org.geysermc.connector.network.translators.item.PotionMixRegistry;
 import org.geysermc.connector.network.translators.sound.SoundRegistry;
 import org.geysermc.connector.network.translators.world.WorldManager;
 import org.geysermc.connector.network.translators.world.block.BlockTranslator;
+import org.geysermc.connector.network.translators.world.chunk.ChunkTranslationCache;
 import org.geysermc.connector.plugin.PluginManager;
 import org.geysermc.connector.event.events.geyser.GeyserStopEvent;
 import org.geysermc.connector.network.translators.world.collision.CollisionTranslator;
@@ -66,6 +73,7 @@ import javax.naming.directory.InitialDirContext;
 import java.net.InetSocketAddress;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
@@ -95,6 +103,7 @@ public class GeyserConnector {
     private boolean shuttingDown = false;
 
     private final ScheduledExecutorService generalThreadPool;
+    private final LoginExecutor loginExecutor;
 
     private BedrockServer bedrockServer;
     private PlatformType platformType;
@@ -108,6 +117,9 @@ public class GeyserConnector {
     private final EventManager eventManager;
     private final PluginManager pluginManager;
 
+    // Subsystems reported by the timings command
+    private final List<StatsProvider> statsProviders;
+
     private final List<String> registeredPluginChannels = new ArrayList<>();
 
     private Metrics metrics;
@@ -131,6 +143,8 @@ public class GeyserConnector {
         logger.info("******************************************");
 
         this.generalThreadPool = Executors.newScheduledThreadPool(config.getGeneralThreadPool());
+        this.loginExecutor = new LoginExecutor(config.getLogin().getThreads(), config.getLogin().getAuthThreads(),
+                config.getLogin().getQueueSize(), config.getLogin().getMaxPerAddress(), config.getLogin().getKeyPoolSize());
 
         logger.setDebug(config.isDebugMode());
 
@@ -139,6 +153,8 @@ public class GeyserConnector {
         GeyserEdition.registerEdition("education",  org.geysermc.connector.edition.mcee.Edition.class);
 
         this.eventManager = new EventManager(this);
+        this.statsProviders = Arrays.asList(eventManager.getAsyncEventExecutor(), loginExecutor, EntityUpdateBuffer.STATS,
+                ChunkTranslationCache.STATS, ItemTranslationCache.STATS, new ChunkCache.Stats(this), SharedSectionStore.STATS);
         this.pluginManager = new PluginManager(this, bootstrap.getConfigFolder().resolve("plugins").toFile());
 
         // Set Codec
@@ -157,7 +173,10 @@ public class GeyserConnector {
         LocaleUtils.init();
         ItemRegistry.init();
         ItemTranslator.init();
+        ItemTranslationCache.init();
         CollisionTranslator.init();
+        ChunkTranslationCache.init();
+        SharedSectionStore.init();
         LocaleUtils.init();
         PotionMixRegistry.init();
         SoundRegistry.init();
@@ -285,7 +304,11 @@ public class GeyserConnector {
             }
         }
 
+        // Only now that every session is closed, so their disconnect events can still be handled
+        eventManager.shutdown();
+
         generalThreadPool.shutdown();
+        loginExecutor.shutdown();
         bedrockServer.close();
         players.clear();
         remoteServer = null;
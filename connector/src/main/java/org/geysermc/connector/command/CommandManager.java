@@ -52,6 +52,7 @@ public abstract class CommandManager {
         registerCommand(new OffhandCommand(connector, "offhand", LanguageUtils.getLocaleStringLog("geyser.commands.offhand.desc"), "geyser.command.offhand"));
         registerCommand(new DumpCommand(connector, "dump", LanguageUtils.getLocaleStringLog("geyser.commands.dump.desc"), "geyser.command.dump"));
         registerCommand(new VersionCommand(connector, "version", LanguageUtils.getLocaleStringLog("geyser.commands.version.desc"), "geyser.command.version"));
+        registerCommand(new TimingsCommand(connector, "timings", "Show event handler timings and cache statistics", "geyser.command.timings"));
     }
 
     public void registerCommand(GeyserCommand command) {
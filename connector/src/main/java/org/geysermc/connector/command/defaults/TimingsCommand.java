@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ *
+ *  @author GeyserMC
+ *  @link https://github.com/GeyserMC/Geyser
+ *
+ */
+
+package org.geysermc.connector.command.defaults;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.command.CommandSender;
+import org.geysermc.connector.command.GeyserCommand;
+import org.geysermc.connector.common.ChatColor;
+import org.geysermc.connector.event.EventTimings;
+import org.geysermc.connector.metrics.StatsProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TimingsCommand extends GeyserCommand {
+
+    // Number of handlers shown per owner in chat
+    private static final int SHOWN_HANDLERS = 5;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final GeyserConnector connector;
+
+    public TimingsCommand(GeyserConnector connector, String name, String description, String permission) {
+        super(name, description, permission);
+
+        this.connector = connector;
+    }
+
+    @Override
+    public void execute(CommandSender sender, String[] args) {
+        EventTimings timings = connector.getEventManager().getTimings();
+        String action = args.length > 0 ? args[0].toLowerCase() : "";
+
+        switch (action) {
+            case "on":
+                timings.setEnabled(true);
+                sender.sendMessage("Event timings enabled");
+                return;
+            case "off":
+                timings.setEnabled(false);
+                sender.sendMessage("Event timings disabled");
+                return;
+            case "reset":
+                timings.reset();
+                sender.sendMessage("Event timings reset");
+                return;
+            case "dump":
+                dump(sender, timings);
+                return;
+            default:
+                show(sender, timings);
+        }
+    }
+
+    private void show(CommandSender sender, EventTimings timings) {
+        if (!timings.isEnabled()) {
+            sender.sendMessage(ChatColor.YELLOW + "Event timings are disabled. Enable them with /geyser timings on");
+        }
+
+        for (StatsProvider provider : connector.getStatsProviders()) {
+            String summary = provider.getSummary();
+            if (summary != null) {
+                sender.sendMessage(summary);
+            }
+        }
+
+        Map<String, List<EventTimings.HandlerReport>> report = timings.getReport();
+        if (report.isEmpty()) {
+            sender.sendMessage("No event handlers have been timed");
+            return;
+        }
+
+        for (Map.Entry<String, List<EventTimings.HandlerReport>> entry : report.entrySet()) {
+            sender.sendMessage(ChatColor.AQUA + entry.getKey() + ":");
+            List<EventTimings.HandlerReport> handlers = entry.getValue();
+            for (EventTimings.HandlerReport handler : handlers.subList(0, Math.min(SHOWN_HANDLERS, handlers.size()))) {
+                sender.sendMessage(String.format("  %s (%s%s) x%d total %.1fms mean %.3fms p99 %.3fms max %.3fms",
+                        handler.getName(), handler.getEvent(), handler.isAsync() ? ", async" : "", handler.getCount(),
+                        handler.getTotalNanos() / 1_000_000D, handler.getMeanNanos() / 1_000_000D,
+                        handler.getP99Nanos() / 1_000_000D, handler.getMaxNanos() / 1_000_000D));
+            }
+        }
+    }
+
+    private void dump(CommandSender sender, EventTimings timings) {
+        Map<String, Object> dump = new LinkedHashMap<>();
+        dump.put("enabled", timings.isEnabled());
+        for (StatsProvider provider : connector.getStatsProviders()) {
+            dump.put(provider.getName(), provider.getStats());
+        }
+        dump.put("handlers", timings.getReport());
+
+        File folder = connector.getBootstrap().getConfigFolder().resolve("timings").toFile();
+        File file = new File(folder, "timings-" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date()) + ".json");
+        try {
+            //noinspection ResultOfMethodCallIgnored
+            folder.mkdirs();
+            MAPPER.writeValue(file, dump);
+        } catch (IOException e) {
+            sender.sendMessage(ChatColor.RED + "Unable to write event timings");
+            connector.getLogger().error("Unable to write event timings", e);
+            return;
+        }
+
+        sender.sendMessage("Event timings written to " + file.getAbsolutePath());
+    }
+}
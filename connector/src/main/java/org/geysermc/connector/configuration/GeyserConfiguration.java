@@ -60,6 +60,10 @@ public interface GeyserConfiguration {
 
     int getGeneralThreadPool();
 
+    int getAsyncEventThreads();
+
+    int getAsyncEventQueueSize();
+
     boolean isAllowThirdPartyCapes();
 
     boolean isAllowThirdPartyEars();
@@ -74,11 +78,25 @@ public interface GeyserConfiguration {
 
     boolean isCacheChunks();
 
+    int getChunkTranslationCacheSize();
+
+    boolean isShareChunkCache();
+
+    boolean isCacheChunkBlobs();
+
+    boolean isCoalesceEntityUpdates();
+
+    int getItemTranslationCacheSize();
+
     boolean isAllowCustomSkulls();
 
 
     IMetricsInfo getMetrics();
 
+    IEventTimingsInfo getEventTimings();
+
+    ILoginInfo getLogin();
+
     interface IBedrockConfiguration {
 
         String getAddress();
@@ -119,6 +137,26 @@ public interface GeyserConfiguration {
         String getUniqueId();
     }
 
+    interface IEventTimingsInfo {
+
+        boolean isEnabled();
+
+        int getWarnThreshold();
+    }
+
+    interface ILoginInfo {
+
+        int getThreads();
+
+        int getAuthThreads();
+
+        int getQueueSize();
+
+        int getMaxPerAddress();
+
+        int getKeyPoolSize();
+    }
+
     int getConfigVersion();
 
     static void checkGeyserConfiguration(GeyserConfiguration geyserConfig, GeyserLogger geyserLogger) {
@@ -73,6 +73,12 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("general-thread-pool")
     private int generalThreadPool;
 
+    @JsonProperty("async-event-threads")
+    private int asyncEventThreads = 4;
+
+    @JsonProperty("async-event-queue-size")
+    private int asyncEventQueueSize = 1024;
+
     @JsonProperty("allow-third-party-capes")
     private boolean allowThirdPartyCapes;
 
@@ -88,6 +94,21 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("cache-chunks")
     private boolean cacheChunks;
 
+    @JsonProperty("chunk-translation-cache-size")
+    private int chunkTranslationCacheSize = 32;
+
+    @JsonProperty("share-chunk-cache")
+    private boolean shareChunkCache = true;
+
+    @JsonProperty("cache-chunk-blobs")
+    private boolean cacheChunkBlobs = true;
+
+    @JsonProperty("coalesce-entity-updates")
+    private boolean coalesceEntityUpdates = true;
+
+    @JsonProperty("item-translation-cache-size")
+    private int itemTranslationCacheSize = 4096;
+
     @JsonProperty("allow-custom-skulls")
     private boolean allowCustomSkulls;
 
@@ -99,6 +120,12 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
 
     private MetricsInfo metrics;
 
+    @JsonProperty("event-timings")
+    private EventTimingsInfo eventTimings = new EventTimingsInfo();
+
+    @JsonProperty("login")
+    private LoginInfo login = new LoginInfo();
+
     @Getter
     public static class BedrockConfiguration implements IBedrockConfiguration {
 
@@ -142,6 +169,33 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
         private String uniqueId;
     }
 
+    @Getter
+    public static class EventTimingsInfo implements IEventTimingsInfo {
+
+        private boolean enabled = false;
+
+        @JsonProperty("warn-threshold")
+        private int warnThreshold = 5;
+    }
+
+    @Getter
+    public static class LoginInfo implements ILoginInfo {
+
+        private int threads = 4;
+
+        @JsonProperty("auth-threads")
+        private int authThreads = 8;
+
+        @JsonProperty("queue-size")
+        private int queueSize = 256;
+
+        @JsonProperty("max-per-address")
+        private int maxPerAddress = 10;
+
+        @JsonProperty("key-pool-size")
+        private int keyPoolSize = 16;
+    }
+
     @JsonProperty("config-version")
     private int configVersion;
 }
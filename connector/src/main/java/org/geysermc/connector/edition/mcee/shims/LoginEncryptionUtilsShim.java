@@ -41,10 +41,8 @@ import org.geysermc.connector.utils.LoginEncryptionUtils;
 import javax.crypto.SecretKey;
 import java.net.URI;
 import java.security.KeyPair;
-import java.security.KeyPairGenerator;
 import java.security.PublicKey;
 import java.security.interfaces.ECPrivateKey;
-import java.security.spec.ECGenParameterSpec;
 import java.util.Base64;
 
 public class LoginEncryptionUtilsShim implements LoginEncryptionUtils.Shim {
@@ -73,9 +71,7 @@ public class LoginEncryptionUtilsShim implements LoginEncryptionUtils.Shim {
 
     @Override
     public void startEncryptionHandshake(GeyserSession session, PublicKey key) throws Exception {
-        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
-        generator.initialize(new ECGenParameterSpec("secp384r1"));
-        KeyPair serverKeyPair = generator.generateKeyPair();
+        KeyPair serverKeyPair = session.getConnector().getLoginExecutor().getKeyPairPool().take();
 
         byte[] token = EncryptionUtils.generateRandomToken();
         SecretKey encryptionKey = EncryptionUtils.getSecretKey(serverKeyPair.getPrivate(), key, token);
@@ -177,7 +177,7 @@ public class Entity {
         moveEntityPacket.setOnGround(isOnGround);
         moveEntityPacket.setTeleported(false);
 
-        session.sendUpstreamPacket(moveEntityPacket);
+        session.getEntityUpdateBuffer().moveEntity(this, moveEntityPacket);
     }
 
     public void moveAbsolute(GeyserSession session, Vector3f position, float yaw, float pitch, boolean isOnGround, boolean teleported) {
@@ -196,7 +196,7 @@ public class Entity {
         moveEntityPacket.setOnGround(isOnGround);
         moveEntityPacket.setTeleported(teleported);
 
-        session.sendUpstreamPacket(moveEntityPacket);
+        session.getEntityUpdateBuffer().moveEntity(this, moveEntityPacket);
     }
 
     /**
@@ -373,10 +373,7 @@ public class Entity {
     public void updateBedrockMetadata(GeyserSession session) {
         if (!valid) return;
 
-        SetEntityDataPacket entityDataPacket = new SetEntityDataPacket();
-        entityDataPacket.setRuntimeEntityId(geyserId);
-        entityDataPacket.getMetadata().putAll(metadata);
-        session.sendUpstreamPacket(entityDataPacket);
+        session.getEntityUpdateBuffer().updateMetadata(this);
     }
 
     /**
@@ -31,13 +31,13 @@ import com.github.steveice10.mc.protocol.data.message.TextMessage;
 import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
 import com.nukkitx.math.vector.Vector3d;
 import com.nukkitx.math.vector.Vector3f;
-import com.nukkitx.math.vector.Vector3i;
 import com.nukkitx.protocol.bedrock.data.AttributeData;
 import com.nukkitx.protocol.bedrock.data.PlayerPermission;
 import com.nukkitx.protocol.bedrock.data.command.CommandPermission;
 import com.nukkitx.protocol.bedrock.data.entity.EntityData;
 import com.nukkitx.protocol.bedrock.data.entity.EntityLinkData;
 import com.nukkitx.protocol.bedrock.packet.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.geysermc.connector.GeyserConnector;
@@ -84,6 +84,12 @@ public class PlayerEntity extends LivingEntity {
     @Getter
     private BoundingBox boundingBox;
 
+    // Reused by correctPosition; movement of the session's own player is only translated on one thread at a time
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private BlockCollision[] collisionShapes = new BlockCollision[16];
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private int[] collisionPositions = new int[16 * 3];
+
     public PlayerEntity(GameProfile gameProfile, long entityId, long geyserId, Vector3f position, Vector3f motion, Vector3f rotation) {
         super(entityId, geyserId, EntityType.PLAYER, position, motion, rotation);
 
@@ -275,11 +281,6 @@ public class PlayerEntity extends LivingEntity {
         super.updateBedrockMetadata(entityMetadata, session);
 
         if (entityMetadata.getId() == 2) {
-            // System.out.println(session.getScoreboardCache().getScoreboard().getObjectives().keySet());
-            for (Team team : session.getScoreboardCache().getScoreboard().getTeams().values()) {
-                // session.getConnector().getLogger().info("team name " + team.getName());
-                // session.getConnector().getLogger().info("team entities " + team.getEntities());
-            }
             String username = this.username;
             TextMessage name = (TextMessage) entityMetadata.getValue();
             if (name != null) {
@@ -343,72 +344,91 @@ public class PlayerEntity extends LivingEntity {
     }
 
     public void updateBoundingBox(Vector3f position) {
-        updateBoundingBox(Vector3d.from(position.getX(), position.getY(), position.getZ()));
+        updateBoundingBox(position.getX(), position.getY(), position.getZ());
     }
 
     public void updateBoundingBox(Vector3d position) {
+        updateBoundingBox(position.getX(), position.getY(), position.getZ());
+    }
+
+    public void updateBoundingBox(double x, double y, double z) {
         // If this isn't the player logged in through this Geyser session
         if (geyserId != 1) {
             return;
         }
         if (boundingBox == null) {
             //em.out.println("BBnull");
-            boundingBox = new BoundingBox(position.getX(), position.getY(), position.getZ(), 0.6, 1.8, 0.6);
+            boundingBox = new BoundingBox(x, y, z, 0.6, 1.8, 0.6);
         } else {
             // TODO: Make bounding box smaller when sneaking
-            boundingBox.setMiddleX(position.getX());
-            boundingBox.setMiddleY(position.getY() + 0.9); // (EntityType.PLAYER.getOffset() / 2));
+            boundingBox.setMiddleX(x);
+            boundingBox.setMiddleY(y + 0.9); // (EntityType.PLAYER.getOffset() / 2));
             // System.out.println("Offset: " + (EntityType.PLAYER.getOffset() / 2));
-            boundingBox.setMiddleZ(position.getZ());
+            boundingBox.setMiddleZ(z);
         }
     }
 
     public static final double COLLISION_TOLERANCE = 0.000001;
 
-    public ArrayList<Vector3i> getCollidableBlocks(Vector3d position) {
-        ArrayList<Vector3i> blocks = new ArrayList<Vector3i>();
+    /**
+     * Move the bounding box to the given position and push it out of any blocks it collides with.
+     * The corrected position can be read from the bounding box afterwards.
+     *
+     * @param session the session of this player
+     * @param x the X position of the player's feet
+     * @param y the Y position of the player's feet
+     * @param z the Z position of the player's feet
+     */
+    public void correctPosition(GeyserSession session, double x, double y, double z) {
+        updateBoundingBox(x, y, z);
 
         // Loop through all blocks that could collide with the player
-        int minCollisionX = (int) Math.floor(position.getX() - ((boundingBox.getSizeX() / 2) + COLLISION_TOLERANCE));
-        int maxCollisionX = (int) Math.floor(position.getX() + (boundingBox.getSizeX() / 2) + COLLISION_TOLERANCE);
+        int minCollisionX = (int) Math.floor(x - ((boundingBox.getSizeX() / 2) + COLLISION_TOLERANCE));
+        int maxCollisionX = (int) Math.floor(x + (boundingBox.getSizeX() / 2) + COLLISION_TOLERANCE);
 
         // Y extends 0.5 blocks down because of fence hitboxes
-        int minCollisionY = (int) Math.floor(position.getY() - 0.5);
+        int minCollisionY = (int) Math.floor(y - 0.5);
 
         // TODO: change comment
         // Hitbox height is currently set to 0.5 to improve performance, as only blocks below the player need checking
         // Any lower seems to cause issues
-        int maxCollisionY = (int) Math.floor(position.getY() + boundingBox.getSizeY());
-
-        int minCollisionZ = (int) Math.floor(position.getZ() - ((boundingBox.getSizeZ() / 2) + COLLISION_TOLERANCE));
-        int maxCollisionZ = (int) Math.floor(position.getZ() + (boundingBox.getSizeZ() / 2) + COLLISION_TOLERANCE);
-
-        // BlockCollision blockCollision;
-
-        for (int y = minCollisionY; y < maxCollisionY + 1; y++) {
-            for (int x = minCollisionX; x < maxCollisionX + 1; x++) {
-                for (int z = minCollisionZ; z < maxCollisionZ + 1; z++) {
-                    blocks.add(Vector3i.from(x, y, z));
+        int maxCollisionY = (int) Math.floor(y + boundingBox.getSizeY());
+
+        int minCollisionZ = (int) Math.floor(z - ((boundingBox.getSizeZ() / 2) + COLLISION_TOLERANCE));
+        int maxCollisionZ = (int) Math.floor(z + (boundingBox.getSizeZ() / 2) + COLLISION_TOLERANCE);
+
+        // Collect the shapes once, as the corrections below move the bounding box
+        int count = 0;
+        for (int blockY = minCollisionY; blockY < maxCollisionY + 1; blockY++) {
+            for (int blockX = minCollisionX; blockX < maxCollisionX + 1; blockX++) {
+                for (int blockZ = minCollisionZ; blockZ < maxCollisionZ + 1; blockZ++) {
+                    BlockCollision blockCollision = CollisionTranslator.getCollisionAt(session, blockX, blockY, blockZ);
+                    if (blockCollision == null) {
+                        continue;
+                    }
+                    if (count == collisionShapes.length) {
+                        collisionShapes = Arrays.copyOf(collisionShapes, count * 2);
+                        collisionPositions = Arrays.copyOf(collisionPositions, count * 2 * 3);
+                    }
+                    collisionShapes[count] = blockCollision;
+                    collisionPositions[count * 3] = blockX;
+                    collisionPositions[count * 3 + 1] = blockY;
+                    collisionPositions[count * 3 + 2] = blockZ;
+                    count++;
                 }
             }
         }
 
-        return blocks;
-    }
+        for (int i = 0; i < count; i++) {
+            // Used when correction code needs to be run before the main correction
+            collisionShapes[i].beforeCorrectPosition(collisionPositions[i * 3], collisionPositions[i * 3 + 1],
+                    collisionPositions[i * 3 + 2], boundingBox);
+        }
 
-    public ArrayList<BlockCollision> getPossibleCollision(Vector3d position, GeyserSession session) {
-        ArrayList<BlockCollision> possibleCollision = new ArrayList<BlockCollision>();
-        ArrayList<Vector3i> collidableBlocks = getCollidableBlocks(position);
-
-        Iterator<Vector3i> i = collidableBlocks.iterator();
-        while (i.hasNext()) {
-            Vector3i blockPos = i.next();
-            BlockCollision blockCollision = CollisionTranslator.getCollisionAt(
-                    blockPos.getX(), blockPos.getY(), blockPos.getZ(), session
-            );
-            possibleCollision.add(blockCollision);
+        for (int i = 0; i < count; i++) {
+            collisionShapes[i].correctPosition(collisionPositions[i * 3], collisionPositions[i * 3 + 1],
+                    collisionPositions[i * 3 + 2], boundingBox);
         }
-        return possibleCollision;
     }
 
     @Override
@@ -146,6 +146,6 @@ public class VillagerEntity extends AbstractMerchantEntity {
         }
         moveEntityPacket.setOnGround(isOnGround);
         moveEntityPacket.setTeleported(false);
-        session.sendUpstreamPacket(moveEntityPacket);
+        session.getEntityUpdateBuffer().moveEntity(this, moveEntityPacket);
     }
 }
@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ *
+ *  @author GeyserMC
+ *  @link https://github.com/GeyserMC/Geyser
+ *
+ */
+
+package org.geysermc.connector.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.event.handlers.EventHandler;
+import org.geysermc.connector.metrics.StatsProvider;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes async event handlers away from the thread that triggered the event.
+ *
+ * Events belonging to a session are run in the order they were triggered for that session, while different sessions
+ * are handled in parallel. Each session may only have a limited number of events waiting; once that is reached further
+ * events of that session are dropped, counted and warned about, as the triggering thread is a shared network thread
+ * that must never wait on a slow handler. Handlers that must not miss events can ask to be run on the triggering
+ * thread instead.
+ */
+@Getter
+public class AsyncEventExecutor implements StatsProvider {
+    // Lane used for events that do not belong to a session
+    private static final Object GLOBAL_LANE = new Object();
+
+    // Minimum time between warnings about dropped events
+    private static final long DROP_WARNING_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    private final ExecutorService executor;
+    private final EventTimings timings;
+    private final int maxQueuedPerLane;
+
+    private final Map<Object, Lane> lanes = new ConcurrentHashMap<>();
+
+    /**
+     * Number of events currently waiting for or running on an async handler
+     */
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /**
+     * Highest number of queued events seen
+     */
+    private final AtomicInteger peakQueued = new AtomicInteger();
+
+    /**
+     * Number of async handler executions completed
+     */
+    private final AtomicLong executed = new AtomicLong();
+
+    /**
+     * Number of handler executions dropped because their lane was full
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Number of handler executions run on the triggering thread because their lane was full
+     */
+    private final AtomicLong ranInline = new AtomicLong();
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong lastDropWarning = new AtomicLong(System.nanoTime() - DROP_WARNING_INTERVAL);
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong droppedSinceWarning = new AtomicLong();
+
+    public AsyncEventExecutor(EventTimings timings, int threads, int maxQueuedPerLane) {
+        AtomicInteger threadId = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "Geyser Async Event Thread #" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), threadFactory);
+        this.timings = timings;
+        this.maxQueuedPerLane = Math.max(1, maxQueuedPerLane);
+    }
+
+    /**
+     * Queue a handler to be executed for an event
+     *
+     * @param event Event passed to handler
+     * @param handler Handler to execute
+     */
+    public <T extends GeyserEvent> void execute(T event, EventHandler<T> handler) {
+        Object key = event instanceof Session && ((Session) event).getSession() != null ? ((Session) event).getSession() : GLOBAL_LANE;
+
+        Runnable task = () -> {
+            boolean timed = timings.isEnabled();
+            long start = timed ? System.nanoTime() : 0;
+            try {
+                handler.execute(event);
+            } catch (EventHandler.EventHandlerException e) {
+                GeyserConnector.getInstance().getLogger().error(e.getMessage(), e);
+            } catch (Throwable e) {
+                GeyserConnector.getInstance().getLogger().error("Async Event Handler failed for " + event.getClass().getSimpleName(), e);
+            }
+
+            if (timed) {
+                timings.record(handler, System.nanoTime() - start, true);
+            }
+        };
+
+        while (true) {
+            Lane lane = lanes.computeIfAbsent(key, Lane::new);
+            Offer result = lane.offer(task);
+            if (result == Offer.FULL) {
+                if (handler.isRunInlineWhenFull()) {
+                    ranInline.incrementAndGet();
+                    task.run();
+                } else {
+                    dropped.incrementAndGet();
+                    warnDropped(event, handler);
+                }
+            }
+            if (result != Offer.RETIRED) {
+                return;
+            }
+            // The lane was retired before we could add to it so try again with a fresh one
+        }
+    }
+
+    private void warnDropped(GeyserEvent event, EventHandler<?> handler) {
+        long count = droppedSinceWarning.incrementAndGet();
+        long now = System.nanoTime();
+        long last = lastDropWarning.get();
+        if (now - last < DROP_WARNING_INTERVAL || !lastDropWarning.compareAndSet(last, now)) {
+            return;
+        }
+
+        droppedSinceWarning.addAndGet(-count);
+        String owner = event instanceof Session && ((Session) event).getSession() != null
+                ? ((Session) event).getSession().getName() : "the server";
+        GeyserConnector.getInstance().getLogger().warning("Async event handler " + handler.getName() + " is too slow, skipped "
+                + event.getClass().getSimpleName() + " for " + owner + " (" + count + " events skipped since the last warning)");
+    }
+
+    @Override
+    public String getName() {
+        return "async";
+    }
+
+    @Override
+    public String getSummary() {
+        return String.format("Async events: %d queued, %d peak, %d executed, %d dropped, %d run inline",
+                queued.get(), peakQueued.get(), executed.get(), dropped.get(), ranInline.get());
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", queued.get());
+        stats.put("peakQueued", peakQueued.get());
+        stats.put("executed", executed.get());
+        stats.put("dropped", dropped.get());
+        stats.put("ranInline", ranInline.get());
+        return stats;
+    }
+
+    /**
+     * Stop accepting events and stop all threads
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        lanes.clear();
+    }
+
+    private enum Offer {
+        ADDED,
+        // The lane is full or the executor has stopped
+        FULL,
+        // The lane has been retired and another lane should be used
+        RETIRED
+    }
+
+    /**
+     * Runs the tasks of a single key one at a time
+     */
+    private class Lane implements Runnable {
+        private final Object key;
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private final Semaphore capacity = new Semaphore(maxQueuedPerLane);
+
+        private boolean running;
+        private boolean retired;
+
+        Lane(Object key) {
+            this.key = key;
+        }
+
+        /**
+         * Add a task to this lane without waiting
+         *
+         * @return whether the task was added
+         */
+        Offer offer(Runnable task) {
+            if (!capacity.tryAcquire()) {
+                return Offer.FULL;
+            }
+
+            synchronized (this) {
+                if (retired) {
+                    capacity.release();
+                    return Offer.RETIRED;
+                }
+
+                tasks.add(task);
+                peakQueued.accumulateAndGet(queued.incrementAndGet(), Math::max);
+
+                if (!running) {
+                    try {
+                        executor.execute(this);
+                    } catch (RejectedExecutionException e) {
+                        // Shutting down
+                        tasks.remove(task);
+                        queued.decrementAndGet();
+                        capacity.release();
+                        return Offer.FULL;
+                    }
+                    running = true;
+                }
+            }
+            return Offer.ADDED;
+        }
+
+        @Override
+        public void run() {
+            Runnable task;
+            synchronized (this) {
+                task = tasks.poll();
+            }
+
+            try {
+                task.run();
+            } finally {
+                capacity.release();
+                queued.decrementAndGet();
+                executed.incrementAndGet();
+
+                synchronized (this) {
+                    if (tasks.isEmpty()) {
+                        // Nothing left so remove ourselves, a new lane will be created for the next event
+                        running = false;
+                        retired = true;
+                        lanes.remove(key, this);
+                    } else {
+                        // Yield to other lanes between tasks
+                        try {
+                            executor.execute(this);
+                        } catch (RejectedExecutionException e) {
+                            // Shutting down, the remaining tasks will never run
+                            running = false;
+                            retired = true;
+                            queued.addAndGet(-tasks.size());
+                            tasks.clear();
+                            lanes.remove(key, this);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
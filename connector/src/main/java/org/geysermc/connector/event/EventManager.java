@@ -26,21 +26,25 @@
 
 package org.geysermc.connector.event;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.configuration.GeyserConfiguration;
 import org.geysermc.connector.event.annotations.GeyserEventHandler;
 import org.geysermc.connector.event.handlers.EventHandler;
 import org.geysermc.connector.event.handlers.LambdaEventHandler;
 import org.geysermc.connector.event.handlers.MethodEventHandler;
 
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.PriorityBlockingQueue;
 
 @SuppressWarnings("unused")
 @Getter
@@ -48,31 +52,67 @@ public class EventManager {
     @Getter
     private static EventManager instance;
 
-    private final Map<Class<? extends GeyserEvent>, PriorityBlockingQueue<EventHandler<?>>> eventHandlers = new ConcurrentHashMap<>();
-    private final Map<Object, ArrayList<EventHandler<?>>> classEventHandlers = new HashMap<>();
+    private static final EventHandler<?>[] NO_HANDLERS = new EventHandler<?>[0];
+
+    // Handlers are sorted by priority then registration order. Arrays are never modified once published,
+    // registration replaces them instead so that they can be iterated without locking.
+    private final Map<Class<? extends GeyserEvent>, EventHandler<?>[]> eventHandlers = new ConcurrentHashMap<>();
+    private final Map<Object, List<EventHandler<?>>> classEventHandlers = new ConcurrentHashMap<>();
+
+    // Cache of concrete event class to the handlers registered against it or any of its supertypes. This is
+    // replaced whenever handlers change so a lookup can never see a stale table.
+    private volatile Map<Class<?>, EventHandler<?>[]> dispatchHandlers = new ConcurrentHashMap<>();
+
+    private final EventTimings timings;
+    private final AsyncEventExecutor asyncEventExecutor;
 
     public EventManager(GeyserConnector connector) {
         instance = this;
+
+        GeyserConfiguration.IEventTimingsInfo timingsConfig = connector.getConfig().getEventTimings();
+        this.timings = new EventTimings(this, timingsConfig != null && timingsConfig.isEnabled(), timingsConfig != null ? timingsConfig.getWarnThreshold() : 0);
+        this.asyncEventExecutor = new AsyncEventExecutor(timings, connector.getConfig().getAsyncEventThreads(), connector.getConfig().getAsyncEventQueueSize());
     }
 
     /**
      * Trigger a new event.
      *
-     * All registered EventHandlers will be executed as long as they have the appropriate filter class (or none)
+     * All registered EventHandlers will be executed in order of priority as long as they have the appropriate
+     * filter class (or none). Async handlers are queued once every other handler has run, and then run while the
+     * caller carries on using the event.
      * @param event Event being triggered
      * @return TriggerResult Result of the trigger
      */
     public <T extends GeyserEvent> EventResult<T> triggerEvent(T event) {
         if (event != null) {
-        if (eventHandlers.containsKey(event.getClass())) {
+            EventHandler<?>[] handlers = getHandlers(event.getClass());
+            boolean hasAsync = false;
+            for (EventHandler<?> handler : handlers) {
+                if (handler.isAsync()) {
+                    hasAsync = true;
+                    continue;
+                }
 
-            for (EventHandler<?> handler : eventHandlers.get(event.getClass())) {
+                boolean timed = timings.isEnabled();
+                long start = timed ? System.nanoTime() : 0;
+                try {
+                    //noinspection unchecked
+                    ((EventHandler<T>) handler).execute(event);
+                } catch (EventHandler.EventHandlerException e) {
+                    GeyserConnector.getInstance().getLogger().error(e.getMessage(), e);
+                }
 
-                    try {
+                if (timed) {
+                    timings.record(handler, System.nanoTime() - start, false);
+                }
+            }
+
+            // Queued after the other handlers so async handlers see the event as they left it
+            if (hasAsync) {
+                for (EventHandler<?> handler : handlers) {
+                    if (handler.isAsync()) {
                         //noinspection unchecked
-                        ((EventHandler<T>) handler).execute(event);
-                    } catch (org.geysermc.connector.event.handlers.EventHandler.EventHandlerException e) {
-                        GeyserConnector.getInstance().getLogger().error(e.getMessage(), e);
+                        asyncEventExecutor.execute(event, (EventHandler<T>) handler);
                     }
                 }
             }
@@ -80,6 +120,72 @@ public class EventManager {
         return new EventResult<>(this, event);
     }
 
+    /**
+     * Stop executing async event handlers
+     */
+    public void shutdown() {
+        asyncEventExecutor.shutdown();
+    }
+
+    /**
+     * Returns true if any EventHandler would be executed for this event class.
+     *
+     * Used to avoid creating events on hot paths when nothing is listening for them
+     * @param eventClass Class of the event
+     * @return boolean true if there are handlers
+     */
+    public boolean hasHandlers(Class<? extends GeyserEvent> eventClass) {
+        return getHandlers(eventClass).length != 0;
+    }
+
+    /**
+     * Returns the handlers to execute for an event class in order of priority. This includes handlers registered
+     * against any superclass or interface of the event.
+     *
+     * @param eventClass Class of the event
+     * @return handlers to execute
+     */
+    public EventHandler<?>[] getHandlers(Class<?> eventClass) {
+        return dispatchHandlers.computeIfAbsent(eventClass, this::collectHandlers);
+    }
+
+    private EventHandler<?>[] collectHandlers(Class<?> eventClass) {
+        // Most specific types first so that handlers of the same priority run for them first
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(eventClass);
+        while (!queue.isEmpty()) {
+            Class<?> type = queue.poll();
+            if (!types.add(type)) {
+                continue;
+            }
+            if (type.getSuperclass() != null) {
+                queue.add(type.getSuperclass());
+            }
+            queue.addAll(Arrays.asList(type.getInterfaces()));
+        }
+
+        List<EventHandler<?>> handlers = new ArrayList<>();
+        int sources = 0;
+        for (Class<?> type : types) {
+            EventHandler<?>[] registered = eventHandlers.get(type);
+            if (registered != null) {
+                handlers.addAll(Arrays.asList(registered));
+                sources++;
+            }
+        }
+
+        if (handlers.isEmpty()) {
+            return NO_HANDLERS;
+        }
+
+        EventHandler<?>[] result = handlers.toArray(NO_HANDLERS);
+        if (sources > 1) {
+            Arrays.sort(result, Comparator.comparingInt(EventHandler::getPriority));
+        }
+        return result;
+    }
+
     /**
      * Create a new EventHandler using a Lambda
      */
@@ -90,26 +196,52 @@ public class EventManager {
     /**
      * Register an EventHandler
      */
-    public <T extends GeyserEvent> void register(EventHandler<T> handler) {
-        if (!eventHandlers.containsKey(handler.getEventClass())) {
-            eventHandlers.put(handler.getEventClass(), new PriorityBlockingQueue<>());
+    public synchronized <T extends GeyserEvent> void register(EventHandler<T> handler) {
+        EventHandler<?>[] handlers = eventHandlers.getOrDefault(handler.getEventClass(), NO_HANDLERS);
+        for (EventHandler<?> existing : handlers) {
+            if (existing == handler) {
+                return;
+            }
         }
-        eventHandlers.get(handler.getEventClass()).add(handler);
+
+        EventHandler<?>[] updated = Arrays.copyOf(handlers, handlers.length + 1);
+        updated[handlers.length] = handler;
+
+        // Stable sort so handlers of the same priority keep their registration order
+        Arrays.sort(updated, Comparator.comparingInt(EventHandler::getPriority));
+        eventHandlers.put(handler.getEventClass(), updated);
+        dispatchHandlers = new ConcurrentHashMap<>();
     }
 
     /**
      * Unregister an EventHandler
      */
-    public <T extends GeyserEvent> void unregister(EventHandler<T> handler) {
-        if (eventHandlers.containsKey(handler.getEventClass())) {
-            eventHandlers.get(handler.getEventClass()).remove(handler);
+    public synchronized <T extends GeyserEvent> void unregister(EventHandler<T> handler) {
+        EventHandler<?>[] handlers = eventHandlers.get(handler.getEventClass());
+        if (handlers == null) {
+            return;
+        }
+
+        EventHandler<?>[] updated = Arrays.stream(handlers)
+                .filter(existing -> existing != handler)
+                .toArray(EventHandler<?>[]::new);
+
+        if (updated.length == handlers.length) {
+            return;
+        }
+
+        if (updated.length == 0) {
+            eventHandlers.remove(handler.getEventClass());
+        } else {
+            eventHandlers.put(handler.getEventClass(), updated);
         }
+        dispatchHandlers = new ConcurrentHashMap<>();
     }
 
     /**
      * Register all Events contained in an instantiated class. The methods must be annotated by @Event
      */
-    public void registerEvents(Object obj) {
+    public synchronized void registerEvents(Object obj) {
         List<EventHandler<?>> handlers = new ArrayList<>();
         for (Method method : obj.getClass().getMethods()) {
             // Check that the method is annotated with @Event
@@ -128,24 +260,20 @@ public class EventManager {
             handlers.add(handler);
         }
 
-        if (!classEventHandlers.containsKey(obj.getClass())) {
-            classEventHandlers.put(obj.getClass(), new ArrayList<>());
-        }
-        classEventHandlers.get(obj.getClass()).addAll(handlers);
+        classEventHandlers.computeIfAbsent(obj, key -> new ArrayList<>()).addAll(handlers);
     }
 
     /**
      * Unregister all events in class
      */
-    public void unregisterEvents(Object obj) {
-        if (!classEventHandlers.containsKey(obj)) {
+    public synchronized void unregisterEvents(Object obj) {
+        List<EventHandler<?>> handlers = classEventHandlers.remove(obj);
+        if (handlers == null) {
             return;
         }
 
-        for (EventHandler<?> handler : classEventHandlers.get(obj)) {
+        for (EventHandler<?> handler : handlers) {
             unregister(handler);
         }
-
-        classEventHandlers.remove(obj);
     }
 }
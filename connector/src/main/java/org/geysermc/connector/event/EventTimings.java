@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ *
+ *  @author GeyserMC
+ *  @link https://github.com/GeyserMC/Geyser
+ *
+ */
+
+package org.geysermc.connector.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.event.handlers.EventHandler;
+import org.geysermc.connector.event.handlers.HandlerTimings;
+import org.geysermc.connector.plugin.handlers.PluginLambdaEventHandler;
+import org.geysermc.connector.plugin.handlers.PluginMethodEventHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optionally measures the time taken by each EventHandler so slow handlers can be found
+ */
+@Getter
+public class EventTimings {
+    // Only warn about the same handler once in this period
+    private static final long WARNING_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    private final EventManager manager;
+
+    @Setter
+    private volatile boolean enabled;
+
+    /**
+     * Synchronous handlers taking longer than this are logged
+     */
+    private final long warnThresholdNanos;
+
+    public EventTimings(EventManager manager, boolean enabled, long warnThresholdMillis) {
+        this.manager = manager;
+        this.enabled = enabled;
+        this.warnThresholdNanos = TimeUnit.MILLISECONDS.toNanos(warnThresholdMillis);
+    }
+
+    /**
+     * Record an execution of a handler
+     *
+     * @param handler Handler that was executed
+     * @param nanos Time taken
+     * @param async True if the handler ran on the async event threads
+     */
+    public void record(EventHandler<?> handler, long nanos, boolean async) {
+        HandlerTimings timings = handler.getTimings();
+        timings.record(nanos);
+
+        if (!async && warnThresholdNanos > 0 && nanos > warnThresholdNanos) {
+            long now = System.nanoTime();
+            long last = timings.getLastWarning().get();
+            if ((last == 0 || now - last > WARNING_INTERVAL) && timings.getLastWarning().compareAndSet(last, now)) {
+                GeyserConnector.getInstance().getLogger().warning(String.format("Event handler %s from %s took %.2fms on %s. Consider marking it as async.",
+                        handler.getName(), getOwner(handler), nanos / 1_000_000D, Thread.currentThread().getName()));
+            }
+        }
+    }
+
+    /**
+     * Forget all recorded timings
+     */
+    public void reset() {
+        for (EventHandler<?> handler : getAllHandlers()) {
+            handler.getTimings().reset();
+        }
+    }
+
+    /**
+     * Return the name of the plugin a handler belongs to or Geyser if it is not from a plugin
+     */
+    public static String getOwner(EventHandler<?> handler) {
+        if (handler instanceof PluginMethodEventHandler) {
+            return ((PluginMethodEventHandler<?>) handler).getPlugin().getName();
+        }
+        if (handler instanceof PluginLambdaEventHandler) {
+            return ((PluginLambdaEventHandler<?>) handler).getPlugin().getName();
+        }
+        return GeyserConnector.NAME;
+    }
+
+    /**
+     * Create a report of all handlers that have run, grouped by owner and sorted by total time taken
+     */
+    public Map<String, List<HandlerReport>> getReport() {
+        Map<String, List<HandlerReport>> report = new TreeMap<>();
+        for (EventHandler<?> handler : getAllHandlers()) {
+            HandlerTimings timings = handler.getTimings();
+            if (timings.getCount().get() == 0) {
+                continue;
+            }
+
+            report.computeIfAbsent(getOwner(handler), owner -> new ArrayList<>()).add(new HandlerReport(
+                    handler.getName(),
+                    handler.getEventClass().getSimpleName(),
+                    handler.isAsync(),
+                    timings.getCount().get(),
+                    timings.getTotalNanos().get(),
+                    timings.getMeanNanos(),
+                    timings.getPercentile(0.99),
+                    timings.getMaxNanos().get()
+            ));
+        }
+
+        for (List<HandlerReport> handlers : report.values()) {
+            handlers.sort(Comparator.comparingLong(HandlerReport::getTotalNanos).reversed());
+        }
+        return report;
+    }
+
+    private Set<EventHandler<?>> getAllHandlers() {
+        Set<EventHandler<?>> handlers = new LinkedHashSet<>();
+        for (EventHandler<?>[] registered : manager.getEventHandlers().values()) {
+            handlers.addAll(Arrays.asList(registered));
+        }
+        return handlers;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class HandlerReport {
+        private final String name;
+        private final String event;
+        private final boolean async;
+        private final long count;
+        private final long totalNanos;
+        private final long meanNanos;
+        private final long p99Nanos;
+        private final long maxNanos;
+    }
+}
@@ -45,4 +45,15 @@ public @interface GeyserEventHandler {
 
     // If ignoreCancelled is true then the handler will not be executed
     boolean ignoreCancelled() default false;
+
+    // If async is true then the handler is executed on the async event threads instead of the thread that
+    // triggered the event. It is queued after the other handlers have run, but runs at the same time as the code that
+    // triggered the event, which may still use and change it. It must not modify the event and should only read
+    // values that are not changed after the event is triggered, copying anything else before going async.
+    boolean async() default false;
+
+    // If an async handler is behind on the events of a session its further events are normally skipped. If
+    // runInlineWhenFull is true they are run on the thread that triggered the event instead, which slows that thread
+    // down but means no event is missed. Such events may run before earlier events still waiting for the handler.
+    boolean runInlineWhenFull() default false;
 }
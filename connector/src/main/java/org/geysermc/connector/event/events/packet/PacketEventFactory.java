@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ *
+ *  @author GeyserMC
+ *  @link https://github.com/GeyserMC/Geyser
+ *
+ */
+
+package org.geysermc.connector.event.events.packet;
+
+import lombok.Getter;
+import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.event.EventManager;
+import org.geysermc.connector.event.GeyserEvent;
+import org.geysermc.connector.network.session.GeyserSession;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.BiFunction;
+
+/**
+ * Creates the packet event wrapping a specific packet class.
+ *
+ * The event class and its constructor are resolved once per packet class and compiled into a direct
+ * constructor call so no reflection takes place when a packet event is created.
+ */
+@Getter
+public class PacketEventFactory {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Factory used for packets that have no matching event class
+     */
+    private static final PacketEventFactory MISSING = new PacketEventFactory(null, null);
+
+    private final Class<? extends GeyserEvent> eventClass;
+    private final BiFunction<GeyserSession, Object, GeyserEvent> constructor;
+
+    private PacketEventFactory(Class<? extends GeyserEvent> eventClass, BiFunction<GeyserSession, Object, GeyserEvent> constructor) {
+        this.eventClass = eventClass;
+        this.constructor = constructor;
+    }
+
+    /**
+     * Create a cache of factories keyed by packet class
+     *
+     * @param nameFormat format of the fully qualified event class name, given the simple name of the packet class
+     * @return a lazily populated cache of factories
+     */
+    public static ClassValue<PacketEventFactory> cache(String nameFormat) {
+        return new ClassValue<PacketEventFactory>() {
+            @Override
+            protected PacketEventFactory computeValue(Class<?> packetClass) {
+                return compile(String.format(nameFormat, packetClass.getSimpleName()), packetClass);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PacketEventFactory compile(String eventClassName, Class<?> packetClass) {
+        Class<? extends GeyserEvent> eventClass;
+        try {
+            eventClass = (Class<? extends GeyserEvent>) Class.forName(eventClassName);
+        } catch (ClassNotFoundException e) {
+            GeyserConnector.getInstance().getLogger().error("Missing event for packet: " + packetClass);
+            return MISSING;
+        }
+
+        try {
+            MethodHandle handle = LOOKUP.findConstructor(eventClass, MethodType.methodType(void.class, GeyserSession.class, packetClass));
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP,
+                    "apply",
+                    MethodType.methodType(BiFunction.class),
+                    MethodType.methodType(Object.class, Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(eventClass, GeyserSession.class, packetClass)
+            );
+            return new PacketEventFactory(eventClass, (BiFunction<GeyserSession, Object, GeyserEvent>) site.getTarget().invoke());
+        } catch (Throwable e) {
+            GeyserConnector.getInstance().getLogger().error("Unable to compile event for packet: " + packetClass, e);
+            return MISSING;
+        }
+    }
+
+    /**
+     * Returns true if there are handlers for the event of this packet class
+     *
+     * @param manager the event manager to check
+     * @return true if the event needs to be created and triggered
+     */
+    public boolean isListening(EventManager manager) {
+        return eventClass != null && manager.hasHandlers(eventClass);
+    }
+
+    /**
+     * Create a new event for a packet
+     *
+     * @param session player session
+     * @param packet the packet to wrap
+     * @return the new event or null if there is no event for this packet class
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends GeyserEvent> E create(GeyserSession session, Object packet) {
+        if (constructor == null) {
+            return null;
+        }
+        return (E) constructor.apply(session, packet);
+    }
+}
@@ -30,22 +30,18 @@ import com.nukkitx.protocol.bedrock.BedrockPacket;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
-import org.geysermc.connector.GeyserConnector;
 import org.geysermc.connector.event.Cancellable;
+import org.geysermc.connector.event.EventManager;
 import org.geysermc.connector.event.GeyserEvent;
 import org.geysermc.connector.event.Session;
 import org.geysermc.connector.network.session.GeyserSession;
 
-import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
-import java.util.Map;
-
 @Data
 @EqualsAndHashCode(callSuper = true)
 @SuppressWarnings("JavaDoc")
 public abstract class UpstreamPacketSendEvent<T extends BedrockPacket> extends GeyserEvent implements Cancellable, Session {
-    // Cache of Packet Class to Event Class
-    private static final Map<Class<? extends BedrockPacket>, Class<?>> classMap = new HashMap<>();
+    // Cache of Packet Class to compiled Event factory
+    private static final ClassValue<PacketEventFactory> factories = PacketEventFactory.cache("org.geysermc.connector.event.events.packet.upstream.%sSend");
 
     private boolean cancelled;
 
@@ -68,24 +64,27 @@ public abstract class UpstreamPacketSendEvent<T extends BedrockPacket> extends G
      * @return an instantiated class that inherits from this one
      */
     public static <T extends BedrockPacket> UpstreamPacketSendEvent<T> of(GeyserSession session, T packet) {
-        Class<?> cls = classMap.get(packet.getClass());
-        if (cls == null) {
-            try {
-                cls = Class.forName(String.format("org.geysermc.connector.event.events.packet.upstream.%sSend", packet.getClass().getSimpleName()));
-            } catch (ClassNotFoundException e) {
-                GeyserConnector.getInstance().getLogger().error("Missing event for packet: " + packet.getClass());
-                return null;
-            }
+        return factories.get(packet.getClass()).create(session, packet);
+    }
 
-            classMap.put(packet.getClass(), cls);
+    /**
+     * Trigger a new UpstreamPacketSendEvent for a packet. No event is created if nothing is listening for it.
+     *
+     * @param session player session
+     * @param packet the packet to wrap
+     * @return the packet to process, which may have been replaced by a handler, or null if the event was cancelled
+     */
+    public static <T extends BedrockPacket> T trigger(GeyserSession session, T packet) {
+        PacketEventFactory factory = factories.get(packet.getClass());
+        EventManager manager = session.getConnector().getEventManager();
+        if (!factory.isListening(manager)) {
+            return packet;
         }
 
-        try {
-            //noinspection unchecked
-            return (UpstreamPacketSendEvent<T>) cls.getConstructor(GeyserSession.class, BedrockPacket.class).newInstance(session, packet);
-        } catch (InstantiationException | NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
-            e.printStackTrace();
+        UpstreamPacketSendEvent<T> event = factory.create(session, packet);
+        if (manager.triggerEvent(event).isCancelled()) {
+            return null;
         }
-        return null;
+        return event.getPacket();
     }
 }
@@ -38,6 +38,7 @@ import java.util.Comparator;
 public abstract class EventHandler<T extends GeyserEvent> implements Comparable<EventHandler<T>>, Comparator<EventHandler<T>> {
     private final EventManager manager;
     private final Class<T> eventClass;
+    private final HandlerTimings timings = new HandlerTimings();
 
     /**
      * Execute a handler for an event
@@ -46,6 +47,13 @@ public abstract class EventHandler<T extends GeyserEvent> implements Comparable<
      */
     public abstract void execute(T event) throws EventHandlerException;
 
+    /**
+     * Return a name identifying this handler in timings and log messages
+     */
+    public String getName() {
+        return getClass().getSimpleName() + "(" + eventClass.getSimpleName() + ")";
+    }
+
     /**
      * Unregister ourself
      */
@@ -58,6 +66,17 @@ public abstract class EventHandler<T extends GeyserEvent> implements Comparable<
      */
     public abstract int getPriority();
 
+    /**
+     * Return true if we are executed asynchronously
+     */
+    public abstract boolean isAsync();
+
+    /**
+     * Return true if we are executed on the triggering thread when too many async events are waiting, instead of
+     * being skipped
+     */
+    public abstract boolean isRunInlineWhenFull();
+
     @Override
     public int compareTo(EventHandler<T> other) {
         return getPriority() - other.getPriority();
@@ -41,17 +41,26 @@ public class LambdaEventHandler<T extends GeyserEvent> extends EventHandler<T> {
     private final Runnable<T> runnable;
     private final int priority;
     private final boolean ignoreCancelled;
+    private final boolean async;
+    private final boolean runInlineWhenFull;
 
-    public LambdaEventHandler(EventManager manager, Class<T> cls, Runnable<T> runnable, int priority, boolean ignoreCancelled) {
+    public LambdaEventHandler(EventManager manager, Class<T> cls, Runnable<T> runnable, int priority, boolean ignoreCancelled, boolean async, boolean runInlineWhenFull) {
         super(manager, cls);
         this.runnable = runnable;
         this.priority = priority;
         this.ignoreCancelled = ignoreCancelled;
+        this.async = async;
+        this.runInlineWhenFull = runInlineWhenFull;
 
         // Register with event manager
         manager.register(this);
     }
 
+    @Override
+    public String getName() {
+        return runnable.getClass().getName();
+    }
+
     @Override
     public void execute(T event) throws EventHandlerException {
         if (event instanceof Cancellable) {
@@ -77,6 +86,8 @@ public class LambdaEventHandler<T extends GeyserEvent> extends EventHandler<T> {
 
         private int priority = PRIORITY.NORMAL;
         private boolean ignoreCancelled = true;
+        private boolean async = false;
+        private boolean runInlineWhenFull = false;
 
         public Builder<T> priority(int priority) {
             this.priority = priority;
@@ -88,8 +99,18 @@ public class LambdaEventHandler<T extends GeyserEvent> extends EventHandler<T> {
             return this;
         }
 
+        public Builder<T> async(boolean async) {
+            this.async = async;
+            return this;
+        }
+
+        public Builder<T> runInlineWhenFull(boolean runInlineWhenFull) {
+            this.runInlineWhenFull = runInlineWhenFull;
+            return this;
+        }
+
         public LambdaEventHandler<T> build() {
-            LambdaEventHandler<T> handler = new LambdaEventHandler<>(manager, cls, runnable, priority, ignoreCancelled);
+            LambdaEventHandler<T> handler = new LambdaEventHandler<>(manager, cls, runnable, priority, ignoreCancelled, async, runInlineWhenFull);
             manager.register(handler);
             return handler;
         }
@@ -32,18 +32,28 @@ import org.geysermc.connector.event.EventManager;
 import org.geysermc.connector.event.annotations.GeyserEventHandler;
 import org.geysermc.connector.event.GeyserEvent;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
 /**
  * Provides an event handler for an annotated method
  */
 @Getter
 public class MethodEventHandler<T extends GeyserEvent> extends EventHandler<T> {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
     private final Object handlerClass;
     private final Method method;
+    private final Invoker invoker;
     private final int priority;
     private final boolean ignoreCancelled;
+    private final boolean async;
+    private final boolean runInlineWhenFull;
 
     @SuppressWarnings("unchecked")
     public MethodEventHandler(EventManager manager, Object handlerClass, Method method) {
@@ -52,8 +62,16 @@ public class MethodEventHandler<T extends GeyserEvent> extends EventHandler<T> {
         GeyserEventHandler annotation = method.getAnnotation(GeyserEventHandler.class);
         this.handlerClass = handlerClass;
         this.method = method;
+        this.invoker = createInvoker(method);
         this.priority = annotation.priority();
         this.ignoreCancelled = annotation.ignoreCancelled();
+        this.async = annotation.async();
+        this.runInlineWhenFull = annotation.runInlineWhenFull();
+    }
+
+    @Override
+    public String getName() {
+        return method.getDeclaringClass().getName() + "#" + method.getName();
     }
 
     @Override
@@ -65,9 +83,78 @@ public class MethodEventHandler<T extends GeyserEvent> extends EventHandler<T> {
         }
 
         try {
-            method.invoke(handlerClass, event);
-        } catch (IllegalAccessException | InvocationTargetException e) {
+            invoker.invoke(handlerClass, event);
+        } catch (Throwable e) {
             throw new EventHandlerException("Unable to execute Event Handler", e);
         }
     }
+
+    /**
+     * Generate a direct invoker for a handler method.
+     *
+     * The method is called through a class generated by LambdaMetafactory so it runs at the speed of a normal
+     * method call. That class is defined in our class loader, so it is only used when the handler and event classes
+     * resolve to the same classes from there. Handlers loaded by a plugin class loader, or methods that cannot be
+     * linked, are called through a MethodHandle which still avoids the cost of reflection.
+     */
+    private static Invoker createInvoker(Method method) {
+        MethodHandle handle;
+        try {
+            method.setAccessible(true);
+            handle = LOOKUP.unreflect(method);
+        } catch (IllegalAccessException | SecurityException e) {
+            throw new IllegalArgumentException("Unable to access Event Handler " + method, e);
+        }
+
+        if (Modifier.isStatic(method.getModifiers())) {
+            return handleInvoker(MethodHandles.dropArguments(handle, 0, Object.class));
+        }
+
+        if (!isVisible(method.getDeclaringClass()) || !isVisible(method.getParameterTypes()[0])) {
+            return handleInvoker(handle);
+        }
+
+        try {
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP,
+                    "invoke",
+                    MethodType.methodType(Invoker.class),
+                    MethodType.methodType(void.class, Object.class, GeyserEvent.class),
+                    handle,
+                    MethodType.methodType(void.class, method.getDeclaringClass(), method.getParameterTypes()[0])
+            );
+            return (Invoker) site.getTarget().invoke();
+        } catch (Throwable ignored) {
+        }
+
+        return handleInvoker(handle);
+    }
+
+    /**
+     * Create an invoker calling a MethodHandle taking the handler object and the event
+     */
+    private static Invoker handleInvoker(MethodHandle handle) {
+        MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, GeyserEvent.class));
+        // Invoked as a statement so the call site returns void like the handle
+        return (handler, event) -> {
+            generic.invokeExact(handler, event);
+        };
+    }
+
+    /**
+     * Return true if a class resolves to the same class from our class loader
+     */
+    private static boolean isVisible(Class<?> clazz) {
+        try {
+            return Class.forName(clazz.getName(), false, MethodEventHandler.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Calls a handler method on its handler object
+     */
+    public interface Invoker {
+        void invoke(Object handler, GeyserEvent event) throws Throwable;
+    }
 }
@@ -28,6 +28,7 @@ package org.geysermc.connector.inventory;
 import com.github.steveice10.mc.protocol.data.game.entity.metadata.ItemStack;
 import com.github.steveice10.mc.protocol.data.game.window.WindowType;
 import com.nukkitx.math.vector.Vector3i;
+import com.nukkitx.protocol.bedrock.data.inventory.ItemData;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -69,6 +70,15 @@ public class Inventory {
     @Getter
     protected AtomicInteger transactionId = new AtomicInteger(1);
 
+    /**
+     * The Bedrock items last sent for the container slots of this window, by Bedrock slot.
+     * Null when the client may not show them anymore, in which case the whole container is sent again.
+     */
+    @Getter
+    @Setter
+    @ToString.Exclude
+    protected ItemData[] bedrockItems;
+
     public Inventory(int id, WindowType windowType, int size) {
         this("Inventory", id, windowType, size);
     }
@@ -31,13 +31,7 @@ import org.geysermc.connector.GeyserEdition;
 import org.geysermc.connector.common.AuthType;
 import org.geysermc.connector.configuration.GeyserConfiguration;
 import org.geysermc.connector.GeyserConnector;
-import org.geysermc.connector.event.EventResult;
 import org.geysermc.connector.event.events.packet.UpstreamPacketReceiveEvent;
-import org.geysermc.connector.event.events.packet.upstream.LoginPacketReceive;
-import org.geysermc.connector.event.events.packet.upstream.ModalFormResponsePacketReceive;
-import org.geysermc.connector.event.events.packet.upstream.MovePlayerPacketReceive;
-import org.geysermc.connector.event.events.packet.upstream.ResourcePackClientResponsePacketReceive;
-import org.geysermc.connector.event.events.packet.upstream.SetLocalPlayerAsInitializedPacketReceive;
 import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.network.translators.PacketTranslatorRegistry;
 import org.geysermc.connector.utils.LoginEncryptionUtils;
@@ -50,20 +44,22 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
     }
 
     private <T extends BedrockPacket> boolean translateAndDefault(T packet) {
-        EventResult<UpstreamPacketReceiveEvent<T>> result = connector.getEventManager().triggerEvent(UpstreamPacketReceiveEvent.of(session, packet));
-        if (result.isCancelled()) {
+        packet = UpstreamPacketReceiveEvent.trigger(session, packet);
+        if (packet == null) {
             return true;
         }
 
-        packet = result.getEvent().getPacket();
+        return translate(packet);
+    }
 
+    private <T extends BedrockPacket> boolean translate(T packet) {
         return PacketTranslatorRegistry.BEDROCK_TRANSLATOR.translate(packet.getClass(), packet, session);
     }
 
     @Override
     public boolean handle(LoginPacket loginPacket) {
-        EventResult<LoginPacketReceive> result = connector.getEventManager().triggerEvent(UpstreamPacketReceiveEvent.of(session, loginPacket));
-        if (result.isCancelled()) {
+        loginPacket = UpstreamPacketReceiveEvent.trigger(session, loginPacket);
+        if (loginPacket == null) {
             return true;
         }
 
@@ -76,7 +72,15 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
             return true;
         }
 
-        LoginEncryptionUtils.encryptPlayerConnection(connector, session, loginPacket);
+        if (!connector.getLoginExecutor().tryAcquire(session.getUpstream().getAddress().getAddress())) {
+            connector.getLogger().debug("Too many logins from " + session.getUpstream().getAddress().getAddress().getHostAddress());
+            session.disconnect("disconnectionScreen.serverFull");
+            return true;
+        }
+
+        // Verifying the login is slow so it is done away from the network thread
+        LoginPacket finalLoginPacket = loginPacket;
+        connector.getLoginExecutor().execute(session, () -> LoginEncryptionUtils.encryptPlayerConnection(connector, session, finalLoginPacket));
         return true;
     }
 
@@ -93,13 +97,11 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
 
     @Override
     public boolean handle(ResourcePackClientResponsePacket packet) {
-        EventResult<ResourcePackClientResponsePacketReceive> result = connector.getEventManager().triggerEvent(UpstreamPacketReceiveEvent.of(session, packet));
-        if (result.isCancelled()) {
+        packet = UpstreamPacketReceiveEvent.trigger(session, packet);
+        if (packet == null) {
             return true;
         }
 
-        packet = result.getEvent().getPacket();
-
         switch (packet.getStatus()) {
             case COMPLETED:
                 session.connect(connector.getRemoteServer());
@@ -122,25 +124,21 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
 
     @Override
     public boolean handle(ModalFormResponsePacket packet) {
-        EventResult<ModalFormResponsePacketReceive> result = connector.getEventManager().triggerEvent(UpstreamPacketReceiveEvent.of(session, packet));
-        if (result.isCancelled()) {
+        packet = UpstreamPacketReceiveEvent.trigger(session, packet);
+        if (packet == null) {
             return true;
         }
 
-        packet = result.getEvent().getPacket();
-
         return LoginEncryptionUtils.authenticateFromForm(session, connector, packet.getFormId(), packet.getFormData());
     }
 
     @Override
     public boolean handle(SetLocalPlayerAsInitializedPacket packet) {
-        EventResult<SetLocalPlayerAsInitializedPacketReceive> result = connector.getEventManager().triggerEvent(UpstreamPacketReceiveEvent.of(session, packet));
-        if (result.isCancelled()) {
+        packet = UpstreamPacketReceiveEvent.trigger(session, packet);
+        if (packet == null) {
             return true;
         }
 
-        packet = result.getEvent().getPacket();
-
         LanguageUtils.loadGeyserLocale(session.getClientData().getLanguageCode());
 
         if (!session.isLoggedIn() && !session.isLoggingIn() && session.getConnector().getAuthType() == AuthType.ONLINE && !session.isUsingSavedCredentials()) {
@@ -148,23 +146,21 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
             LoginEncryptionUtils.showLoginWindow(session);
             // else we were able to log the user in
         }
-        return translateAndDefault(packet);
+        return translate(packet);
     }
 
     @Override
     public boolean handle(MovePlayerPacket packet) {
-        EventResult<MovePlayerPacketReceive> result = connector.getEventManager().triggerEvent(UpstreamPacketReceiveEvent.of(session, packet));
-        if (result.isCancelled()) {
+        packet = UpstreamPacketReceiveEvent.trigger(session, packet);
+        if (packet == null) {
             return true;
         }
 
-        packet = result.getEvent().getPacket();
-
         if (session.isLoggingIn()) {
             session.sendMessage(LanguageUtils.getPlayerLocaleString("geyser.auth.login.wait", session.getClientData().getLanguageCode()));
         }
 
-        return translateAndDefault(packet);
+        return translate(packet);
     }
 
     @Override
@@ -65,14 +65,16 @@ import org.geysermc.connector.common.AuthType;
 import org.geysermc.connector.entity.Entity;
 import org.geysermc.connector.entity.PlayerEntity;
 import org.geysermc.connector.event.EventManager;
+import org.geysermc.connector.event.EventResult;
 import org.geysermc.connector.event.events.geyser.GeyserAuthenticationEvent;
 import org.geysermc.connector.event.events.geyser.GeyserLoginEvent;
 import org.geysermc.connector.event.events.network.SessionConnectEvent;
 import org.geysermc.connector.event.events.network.SessionDisconnectEvent;
 import org.geysermc.connector.event.events.packet.DownstreamPacketReceiveEvent;
 import org.geysermc.connector.event.events.packet.DownstreamPacketSendEvent;
-import org.geysermc.connector.event.events.packet.UpstreamPacketReceiveEvent;
 import org.geysermc.connector.event.events.packet.UpstreamPacketSendEvent;
+import org.geysermc.connector.event.events.packet.upstream.SetLocalPlayerAsInitializedPacketReceive;
+import org.geysermc.connector.event.handlers.LambdaEventHandler;
 import org.geysermc.connector.inventory.PlayerInventory;
 import org.geysermc.connector.network.remote.RemoteServer;
 import org.geysermc.connector.network.session.auth.AuthData;
@@ -81,6 +83,7 @@ import org.geysermc.connector.network.session.cache.*;
 import org.geysermc.connector.network.translators.BiomeTranslator;
 import org.geysermc.connector.network.translators.EntityIdentifierRegistry;
 import org.geysermc.connector.network.translators.PacketTranslatorRegistry;
+import org.geysermc.connector.network.translators.inventory.action.TransactionQueue;
 import org.geysermc.connector.network.translators.item.ItemRegistry;
 import org.geysermc.connector.network.translators.world.block.BlockTranslator;
 import org.geysermc.connector.utils.*;
@@ -99,7 +102,9 @@ import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Getter
 public class GeyserSession implements CommandSender {
@@ -121,6 +126,9 @@ public class GeyserSession implements CommandSender {
     private InventoryCache inventoryCache;
     private ScoreboardCache scoreboardCache;
     private WindowCache windowCache;
+    private final BlobCache blobCache;
+    private final EntityUpdateBuffer entityUpdateBuffer;
+    private final TransactionQueue transactionQueue;
     private Map<Position, PlayerEntity> skullCache = new ConcurrentHashMap<>();
     @Setter
     private TeleportCache teleportCache;
@@ -220,6 +228,9 @@ public class GeyserSession implements CommandSender {
         this.inventoryCache = new InventoryCache(this);
         this.scoreboardCache = new ScoreboardCache(this);
         this.windowCache = new WindowCache(this);
+        this.blobCache = new BlobCache(this);
+        this.entityUpdateBuffer = new EntityUpdateBuffer(this);
+        this.transactionQueue = new TransactionQueue();
 
         this.playerEntity = new PlayerEntity(new GameProfile(UUID.randomUUID(), "unknown"), 1, 1, Vector3f.ZERO, Vector3f.ZERO, Vector3f.ZERO);
         this.inventory = new PlayerInventory();
@@ -321,7 +332,7 @@ public class GeyserSession implements CommandSender {
     }
 
     public void authenticate(String username, String password) {
-        EventManager.TriggerResult<GeyserAuthenticationEvent> result = EventManager.getInstance().triggerEvent(new GeyserAuthenticationEvent(this, username, password));
+        EventResult<GeyserAuthenticationEvent> result = EventManager.getInstance().triggerEvent(new GeyserAuthenticationEvent(this, username, password));
         if (result.isCancelled()) {
             return;
         }
@@ -334,8 +345,8 @@ public class GeyserSession implements CommandSender {
         }
 
         loggingIn = true;
-        // new thread so clients don't timeout
-        new Thread(() -> {
+        // Run on the auth threads so clients don't timeout
+        boolean queued = connector.getLoginExecutor().authenticate(this, () -> {
             try {
                 if (pass != null && !pass.isEmpty()) {
                     protocol = new MinecraftProtocol(user.replace(" ","_"), pass);
@@ -448,10 +459,10 @@ public class GeyserSession implements CommandSender {
                                 lastDimPacket = event.getPacket();
                                 return;
                             } else if (lastDimPacket != null) {
-                                connector.getEventManager().triggerEvent(new DownstreamPacketReceiveEvent<>(GeyserSession.this, event.getPacket()), event.getPacket().getClass())
-                                        .onNotCancelled((result) -> {
-                                            PacketTranslatorRegistry.JAVA_TRANSLATOR.translate(lastDimPacket.getClass(), lastDimPacket, GeyserSession.this);
-                                        });
+                                ServerRespawnPacket respawnPacket = DownstreamPacketReceiveEvent.trigger(GeyserSession.this, lastDimPacket);
+                                if (respawnPacket != null) {
+                                    PacketTranslatorRegistry.JAVA_TRANSLATOR.translate(respawnPacket.getClass(), respawnPacket, GeyserSession.this);
+                                }
                                 lastDimPacket = null;
                             }
 
@@ -466,10 +477,11 @@ public class GeyserSession implements CommandSender {
                                     SkinUtils.handleBedrockSkin(playerEntity, clientData);
                                 }
                             }
-                            connector.getEventManager().triggerEvent(new DownstreamPacketReceiveEvent<>(GeyserSession.this, event.getPacket()), event.getPacket().getClass())
-                                    .onNotCancelled((result) -> {
-                                        PacketTranslatorRegistry.JAVA_TRANSLATOR.translate(event.getPacket().getClass(), event.getPacket(), GeyserSession.this);
-                                    });
+                            Packet packet = DownstreamPacketReceiveEvent.trigger(GeyserSession.this, event.getPacket());
+                            if (packet != null) {
+                                entityUpdateBuffer.beforeDownstreamPacket(packet);
+                                PacketTranslatorRegistry.JAVA_TRANSLATOR.translate(packet.getClass(), packet, GeyserSession.this);
+                            }
                         }
                     }
 
@@ -490,7 +502,10 @@ public class GeyserSession implements CommandSender {
             } catch (RequestException ex) {
                 ex.printStackTrace();
             }
-        }).start();
+        });
+        if (!queued) {
+            loggingIn = false;
+        }
     }
 
     public void disconnect(String reason) {
@@ -505,6 +520,9 @@ public class GeyserSession implements CommandSender {
             }
         }
 
+        if (this.chunkCache != null) {
+            this.chunkCache.close();
+        }
         this.chunkCache = null;
         this.entityCache = null;
         this.scoreboardCache = null;
@@ -549,12 +567,7 @@ public class GeyserSession implements CommandSender {
         if (!getUpstream().isInitialized()) {
             initialize();
             start();
-            EventManager.getInstance().on(UpstreamPacketReceiveEvent.class, (h, e) -> {
-                h.unregister();
-                windowCache.showWindow(window, id);
-            })
-                    .filter(SetLocalPlayerAsInitializedPacket.class)
-                    .build();
+            onInitialized(() -> windowCache.showWindow(window, id));
             return;
         }
 
@@ -579,18 +592,35 @@ public class GeyserSession implements CommandSender {
         if (!getUpstream().isInitialized()) {
             initialize();
             start();
-            EventManager.getInstance().on(UpstreamPacketReceiveEvent.class, (h,e) -> {
-                h.unregister();
-                windowCache.showWindow(window);
-            })
-                    .filter(SetLocalPlayerAsInitializedPacket.class)
-                    .build();
+            onInitialized(() -> windowCache.showWindow(window));
             return;
         }
 
         windowCache.showWindow(window);
     }
 
+    /**
+     * Run once the client of this session reports that its player is initialized
+     */
+    private void onInitialized(Runnable runnable) {
+        AtomicBoolean initialized = new AtomicBoolean();
+        AtomicReference<LambdaEventHandler<SetLocalPlayerAsInitializedPacketReceive>> handler = new AtomicReference<>();
+        handler.set(EventManager.getInstance().on(SetLocalPlayerAsInitializedPacketReceive.class, event -> {
+            if (event.getSession() == this && initialized.compareAndSet(false, true)) {
+                // The handler is registered before build() returns, so it may run before the reference is set
+                LambdaEventHandler<SetLocalPlayerAsInitializedPacketReceive> registered = handler.get();
+                if (registered != null) {
+                    registered.unregister();
+                }
+                runnable.run();
+            }
+        }).build());
+
+        if (initialized.get()) {
+            handler.get().unregister();
+        }
+    }
+
     private void startGame() {
         StartGamePacket startGamePacket = new StartGamePacket();
         startGamePacket.setUniqueEntityId(playerEntity.getGeyserId());
@@ -665,14 +695,16 @@ public class GeyserSession implements CommandSender {
      * @param packet the bedrock packet from the NukkitX protocol lib
      */
     public void sendUpstreamPacket(BedrockPacket packet) {
-        connector.getEventManager().triggerEvent(new UpstreamPacketSendEvent<>(this, packet), packet.getClass())
-                .onNotCancelled((result) -> {
-                    if (upstream != null && !upstream.isClosed()) {
-                        upstream.sendPacket(packet);
-                    } else {
-                        connector.getLogger().debug("Tried to send upstream packet " + packet.getClass().getSimpleName() + " but the session was null");
-                    }
-                });
+        packet = UpstreamPacketSendEvent.trigger(this, packet);
+        if (packet == null) {
+            return;
+        }
+
+        if (upstream != null && !upstream.isClosed()) {
+            upstream.sendPacket(packet);
+        } else {
+            connector.getLogger().debug("Tried to send upstream packet " + packet.getClass().getSimpleName() + " but the session was null");
+        }
     }
 
     /**
@@ -681,14 +713,16 @@ public class GeyserSession implements CommandSender {
      * @param packet the bedrock packet from the NukkitX protocol lib
      */
     public void sendUpstreamPacketImmediately(BedrockPacket packet) {
-        connector.getEventManager().triggerEvent(new UpstreamPacketSendEvent<>(this, packet), packet.getClass())
-                .onNotCancelled((result) -> {
-                    if (upstream != null && !upstream.isClosed()) {
-                        upstream.sendPacketImmediately(packet);
-                    } else {
-                        connector.getLogger().debug("Tried to send upstream packet " + packet.getClass().getSimpleName() + " immediately but the session was null");
-                    }
-                });
+        packet = UpstreamPacketSendEvent.trigger(this, packet);
+        if (packet == null) {
+            return;
+        }
+
+        if (upstream != null && !upstream.isClosed()) {
+            upstream.sendPacketImmediately(packet);
+        } else {
+            connector.getLogger().debug("Tried to send upstream packet " + packet.getClass().getSimpleName() + " immediately but the session was null");
+        }
     }
 
     /**
@@ -697,14 +731,16 @@ public class GeyserSession implements CommandSender {
      * @param packet the java edition packet from MCProtocolLib
      */
     public void sendDownstreamPacket(Packet packet) {
-        connector.getEventManager().triggerEvent(new DownstreamPacketSendEvent<>(this, packet), packet.getClass())
-                .onNotCancelled((result) -> {
-                    if (downstream != null && downstream.getSession() != null && protocol.getSubProtocol().equals(SubProtocol.GAME)) {
-                        downstream.getSession().send(packet);
-                    } else {
-                        connector.getLogger().debug("Tried to send downstream packet " + packet.getClass().getSimpleName() + " before connected to the server");
-                    }
-                });
+        packet = DownstreamPacketSendEvent.trigger(this, packet);
+        if (packet == null) {
+            return;
+        }
+
+        if (downstream != null && downstream.getSession() != null && protocol.getSubProtocol().equals(SubProtocol.GAME)) {
+            downstream.getSession().send(packet);
+        } else {
+            connector.getLogger().debug("Tried to send downstream packet " + packet.getClass().getSimpleName() + " before connected to the server");
+        }
     }
 
     /**
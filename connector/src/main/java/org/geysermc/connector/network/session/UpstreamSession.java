@@ -44,6 +44,8 @@ public class UpstreamSession {
         if (isClosed())
             return;
 
+        // The Bedrock session queues the packet and sends everything queued each tick as one compressed and
+        // encrypted batch, so bursts from a single Java packet are already batched together
         session.sendPacket(packet);
     }
 
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ *
+ *  @author GeyserMC
+ *  @link https://github.com/GeyserMC/Geyser
+ *
+ */
+
+package org.geysermc.connector.network.session.auth;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.metrics.StatsProvider;
+import org.geysermc.connector.network.session.GeyserSession;
+
+import java.net.InetAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the expensive parts of logging in away from the network threads. Verifying the login chain keeps a CPU busy
+ * while authenticating with Mojang and connecting to the Java server mostly waits on the network, so each has its own
+ * threads and a slow authentication server can't hold up the verification of other logins.
+ *
+ * The number of threads and of waiting logins is bounded, and each address may only start a limited number of
+ * logins per minute, so a wave of reconnecting players is turned away early instead of stalling the server.
+ */
+@Getter
+public class LoginExecutor implements StatsProvider {
+
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor authExecutor;
+    private final ServerKeyPairPool keyPairPool;
+    private final int maxLoginsPerAddress;
+
+    @Getter(AccessLevel.NONE)
+    private final Cache<InetAddress, AtomicInteger> loginsPerAddress;
+
+    /**
+     * Number of tasks started
+     */
+    private final AtomicLong executed = new AtomicLong();
+
+    /**
+     * Number of tasks turned away because the queue was full
+     */
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Number of logins turned away because their address logged in too often
+     */
+    private final AtomicLong rateLimited = new AtomicLong();
+
+    /**
+     * Total and highest time tasks spent waiting for a thread
+     */
+    private final AtomicLong queueWaitNanos = new AtomicLong();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+
+    /**
+     * Number of login chains checked and the total time spent on it
+     */
+    private final AtomicLong cryptoCount = new AtomicLong();
+    private final AtomicLong cryptoNanos = new AtomicLong();
+
+    public LoginExecutor(int threads, int authThreads, int queueSize, int maxLoginsPerAddress, int keyPoolSize) {
+        this.executor = createExecutor("Geyser Login Thread #", threads, queueSize);
+        this.authExecutor = createExecutor("Geyser Auth Thread #", authThreads, queueSize);
+        this.keyPairPool = new ServerKeyPairPool(keyPoolSize);
+        this.maxLoginsPerAddress = maxLoginsPerAddress;
+        this.loginsPerAddress = CacheBuilder.newBuilder()
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * Count a login from an address
+     *
+     * @param address the address of the player
+     * @return false if the address has started too many logins in the last minute
+     */
+    public boolean tryAcquire(InetAddress address) {
+        if (maxLoginsPerAddress <= 0 || address == null) {
+            return true;
+        }
+
+        try {
+            // The counter expires a minute after it was created, as incrementing it does not count as a write
+            if (loginsPerAddress.get(address, AtomicInteger::new).incrementAndGet() <= maxLoginsPerAddress) {
+                return true;
+            }
+        } catch (ExecutionException e) {
+            return true;
+        }
+
+        rateLimited.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Queue a login task for a session, such as verifying its login chain. If too many tasks are waiting the session
+     * is disconnected.
+     *
+     * @param session the session logging in
+     * @param task the task to run
+     * @return false if the task was not queued
+     */
+    public boolean execute(GeyserSession session, Runnable task) {
+        return execute(executor, session, task);
+    }
+
+    /**
+     * Queue a task for a session that waits on the network, such as authenticating with Mojang and connecting to the
+     * Java server. If too many tasks are waiting the session is disconnected.
+     *
+     * @param session the session logging in
+     * @param task the task to run
+     * @return false if the task was not queued
+     */
+    public boolean authenticate(GeyserSession session, Runnable task) {
+        return execute(authExecutor, session, task);
+    }
+
+    private boolean execute(ThreadPoolExecutor executor, GeyserSession session, Runnable task) {
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                long wait = System.nanoTime() - queuedAt;
+                queueWaitNanos.addAndGet(wait);
+                maxQueueWaitNanos.accumulateAndGet(wait, Math::max);
+                executed.incrementAndGet();
+
+                if (session.isClosed()) {
+                    return;
+                }
+
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    GeyserConnector.getInstance().getLogger().error("Login task failed", e);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            session.disconnect("disconnectionScreen.serverFull");
+            return false;
+        }
+    }
+
+    /**
+     * Record the time spent verifying a login
+     */
+    public void recordCrypto(long nanos) {
+        cryptoCount.incrementAndGet();
+        cryptoNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Return the number of tasks waiting for a thread
+     */
+    public int getWaiting() {
+        return executor.getQueue().size() + authExecutor.getQueue().size();
+    }
+
+    /**
+     * Return the mean time tasks waited for a thread in nanoseconds
+     */
+    public long getMeanQueueWaitNanos() {
+        long count = executed.get();
+        return count == 0 ? 0 : queueWaitNanos.get() / count;
+    }
+
+    /**
+     * Return the mean time spent verifying a login in nanoseconds
+     */
+    public long getMeanCryptoNanos() {
+        long count = cryptoCount.get();
+        return count == 0 ? 0 : cryptoNanos.get() / count;
+    }
+
+    @Override
+    public String getName() {
+        return "login";
+    }
+
+    @Override
+    public String getSummary() {
+        return String.format("Logins: %d executed, %d waiting, %d rejected, %d rate limited, wait mean %.1fms max %.1fms, verification mean %.1fms, %d/%d pooled keys used",
+                executed.get(), getWaiting(), rejected.get(), rateLimited.get(), getMeanQueueWaitNanos() / 1_000_000D,
+                maxQueueWaitNanos.get() / 1_000_000D, getMeanCryptoNanos() / 1_000_000D,
+                keyPairPool.getHits().get(), keyPairPool.getHits().get() + keyPairPool.getMisses().get());
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("executed", executed.get());
+        stats.put("waiting", getWaiting());
+        stats.put("rejected", rejected.get());
+        stats.put("rateLimited", rateLimited.get());
+        stats.put("meanQueueWaitNanos", getMeanQueueWaitNanos());
+        stats.put("maxQueueWaitNanos", maxQueueWaitNanos.get());
+        stats.put("verifications", cryptoCount.get());
+        stats.put("meanVerificationNanos", getMeanCryptoNanos());
+        stats.put("pooledKeyPairs", keyPairPool.size());
+        stats.put("pooledKeyPairHits", keyPairPool.getHits().get());
+        stats.put("pooledKeyPairMisses", keyPairPool.getMisses().get());
+        return stats;
+    }
+
+    /**
+     * Stop accepting logins and stop all threads
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        authExecutor.shutdownNow();
+        keyPairPool.shutdown();
+    }
+
+    private static ThreadPoolExecutor createExecutor(String name, int threads, int queueSize) {
+        AtomicInteger threadId = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, name + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        threads = Math.max(1, threads);
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), threadFactory);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ *
+ *  @author GeyserMC
+ *  @link https://github.com/GeyserMC/Geyser
+ *
+ */
+
+package org.geysermc.connector.network.session.auth;
+
+import lombok.Getter;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Key pairs used by the server for the encryption handshake with Bedrock clients.
+ *
+ * Generating a secp384r1 key pair takes long enough to matter when many players join at once, so a number of them
+ * are generated ahead of time on a background thread and the pool is refilled as they are used.
+ */
+public class ServerKeyPairPool {
+
+    private final BlockingQueue<KeyPair> keyPairs;
+    private final ExecutorService refiller;
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    /**
+     * Number of key pairs taken from the pool and number generated because the pool was empty
+     */
+    @Getter
+    private final AtomicLong hits = new AtomicLong();
+    @Getter
+    private final AtomicLong misses = new AtomicLong();
+
+    public ServerKeyPairPool(int size) {
+        this.keyPairs = size > 0 ? new ArrayBlockingQueue<>(size) : null;
+        this.refiller = size > 0 ? Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Geyser Key Pair Thread");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }) : null;
+        refill();
+    }
+
+    /**
+     * Take a key pair from the pool, or generate one if the pool is empty
+     */
+    public KeyPair take() throws GeneralSecurityException {
+        KeyPair keyPair = keyPairs != null ? keyPairs.poll() : null;
+        refill();
+
+        if (keyPair != null) {
+            hits.incrementAndGet();
+            return keyPair;
+        }
+        misses.incrementAndGet();
+        return generate();
+    }
+
+    /**
+     * Return the number of key pairs ready to be used
+     */
+    public int size() {
+        return keyPairs != null ? keyPairs.size() : 0;
+    }
+
+    public void shutdown() {
+        if (refiller != null) {
+            refiller.shutdownNow();
+        }
+    }
+
+    private void refill() {
+        if (refiller == null || keyPairs.remainingCapacity() == 0 || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+
+        refiller.execute(() -> {
+            try {
+                while (keyPairs.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+                    keyPairs.offer(generate());
+                }
+            } catch (GeneralSecurityException ignored) {
+                // Logins will generate their own key pairs
+            } finally {
+                refilling.set(false);
+            }
+        });
+    }
+
+    public static KeyPair generate() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp384r1"));
+        return generator.generateKeyPair();
+    }
+}
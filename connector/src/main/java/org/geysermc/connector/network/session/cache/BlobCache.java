@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ *
+ *  @author GeyserMC
+ *  @link https://github.com/GeyserMC/Geyser
+ *
+ */
+
+package org.geysermc.connector.network.session.cache;
+
+import com.nukkitx.protocol.bedrock.packet.ClientCacheMissResponsePacket;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import org.geysermc.connector.network.session.GeyserSession;
+import org.geysermc.connector.network.translators.world.chunk.TranslatedChunk;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the chunk blobs sent to a Bedrock client that uses the client blob cache.
+ *
+ * Chunks are sent as a list of blob IDs and the client replies with the IDs it has and the IDs it is missing.
+ * Blobs are kept here until the client has answered for them so the missing ones can be sent. If a client stops
+ * answering, the blobs that have waited the longest are forgotten first.
+ */
+public class BlobCache {
+
+    // Forget the oldest blobs if a client never answers for them
+    private static final int MAX_PENDING_BLOBS = 16384;
+
+    private final GeyserSession session;
+
+    /**
+     * If the client has told us it supports the blob cache
+     */
+    @Getter
+    @Setter
+    private volatile boolean supported;
+
+    private final Map<Long, PendingBlob> pendingBlobs = new LinkedHashMap<Long, PendingBlob>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, PendingBlob> eldest) {
+            if (size() > MAX_PENDING_BLOBS) {
+                evicted++;
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // Only touched while synchronized on this
+    private int evicted;
+
+    @Getter
+    private final AtomicLong hits = new AtomicLong();
+    @Getter
+    private final AtomicLong misses = new AtomicLong();
+
+    public BlobCache(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Remember the blobs of a chunk that is about to be sent
+     *
+     * @param chunk the translated chunk
+     */
+    public synchronized void addPendingBlobs(TranslatedChunk chunk) {
+        long[] blobIds = chunk.getBlobIds();
+        for (int i = 0; i < blobIds.length; i++) {
+            if (isRepeated(blobIds, i)) {
+                // The client answers once per blob ID in a chunk
+                continue;
+            }
+
+            PendingBlob pending = pendingBlobs.get(blobIds[i]);
+            if (pending != null) {
+                // The same blob can be part of several chunks, such as empty sections or biomes
+                pending.count++;
+            } else {
+                pendingBlobs.put(blobIds[i], new PendingBlob(chunk.getBlob(i), 1));
+            }
+        }
+
+        if (evicted > 0) {
+            session.getConnector().getLogger().debug("Too many unanswered chunk blobs for " + session.getAuthData().getName() + ", forgot the oldest " + evicted);
+            evicted = 0;
+        }
+    }
+
+    /**
+     * Send the blobs the client is missing and forget the blobs it has answered for
+     *
+     * @param missingIds the blob IDs the client does not have
+     * @param cachedIds the blob IDs the client already has
+     */
+    public void handleBlobStatus(long[] missingIds, long[] cachedIds) {
+        ClientCacheMissResponsePacket responsePacket = new ClientCacheMissResponsePacket();
+        synchronized (this) {
+            for (long id : missingIds) {
+                PendingBlob pending = release(id);
+                if (pending != null) {
+                    responsePacket.getBlobs().put(id, pending.blob);
+                } else {
+                    session.getConnector().getLogger().debug("Client of " + session.getAuthData().getName() + " is missing unknown chunk blob " + id);
+                }
+            }
+            for (long id : cachedIds) {
+                release(id);
+            }
+        }
+        misses.addAndGet(missingIds.length);
+        hits.addAndGet(cachedIds.length);
+
+        if (!responsePacket.getBlobs().isEmpty()) {
+            session.sendUpstreamPacket(responsePacket);
+        }
+    }
+
+    private static boolean isRepeated(long[] blobIds, int index) {
+        for (int i = 0; i < index; i++) {
+            if (blobIds[i] == blobIds[index]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Mark one chunk as answered for a blob, forgetting the blob once every chunk containing it has been answered for
+     *
+     * @param id the blob ID
+     * @return the pending blob or null if it is not known
+     */
+    private PendingBlob release(long id) {
+        PendingBlob pending = pendingBlobs.get(id);
+        if (pending != null && --pending.count <= 0) {
+            pendingBlobs.remove(id);
+        }
+        return pending;
+    }
+
+    @AllArgsConstructor
+    private static class PendingBlob {
+        private final byte[] blob;
+        private int count;
+    }
+}
@@ -27,24 +27,43 @@ package org.geysermc.connector.network.session.cache;
 
 import com.github.steveice10.mc.protocol.data.game.chunk.Chunk;
 import com.github.steveice10.mc.protocol.data.game.chunk.Column;
-import com.github.steveice10.mc.protocol.data.game.entity.metadata.Position;
-import lombok.Getter;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.geysermc.connector.GeyserConnector;
 import org.geysermc.connector.bootstrap.GeyserBootstrap;
+import org.geysermc.connector.metrics.StatsProvider;
 import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.network.translators.world.block.BlockTranslator;
-import org.geysermc.connector.network.translators.world.chunk.ChunkPosition;
+import org.geysermc.connector.network.translators.world.chunk.BlockStorage;
+import org.geysermc.connector.network.translators.world.chunk.bitarray.BitArrayVersion;
+import org.geysermc.connector.utils.ContentHash;
+import org.geysermc.connector.utils.MathUtils;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Keeps the Java block states of the chunks loaded by a session. Only the block data is kept, as a palette and
+ * bit array per section, instead of the whole column with its block entities and light data.
+ *
+ * When enabled, unchanged sections point into the {@link SharedSectionStore} instead of being kept by each session.
+ */
 public class ChunkCache {
 
+    private static final int SECTION_COUNT = 16;
+
+    private final GeyserSession session;
     private final boolean cache;
 
-    @Getter
-    private Map<ChunkPosition, Column> chunks = new HashMap<>();
+    // Chunk position to its sections
+    private final Long2ObjectMap<CachedColumn> chunks = new Long2ObjectOpenHashMap<>();
+
+    private boolean closed = false;
 
     public ChunkCache(GeyserSession session) {
+        this.session = session;
         if (session.getConnector().getWorldManager().getClass() == GeyserBootstrap.DEFAULT_CHUNK_MANAGER.getClass()) {
             this.cache = session.getConnector().getConfig().isCacheChunks();
         } else {
@@ -52,55 +71,259 @@ public class ChunkCache {
         }
     }
 
-    public void addToCache(Column chunk) {
+    public void addToCache(Column column) {
         if (!cache) {
             return;
         }
-        ChunkPosition position = new ChunkPosition(chunk.getX(), chunk.getZ());
-        chunks.put(position, chunk);
+
+        // Build the sections before locking, chunks are translated on several threads
+        long position = MathUtils.chunkPositionToLong(column.getX(), column.getZ());
+        String dimension = session.getPlayerEntity().getDimension();
+        CachedColumn cachedColumn = new CachedColumn();
+        Chunk[] chunks = column.getChunks();
+        for (int chunkY = 0; chunkY < Math.min(chunks.length, SECTION_COUNT); chunkY++) {
+            Chunk chunk = chunks[chunkY];
+            if (chunk == null || chunk.isEmpty()) {
+                continue;
+            }
+
+            if (SharedSectionStore.isEnabled()) {
+                ContentHash hash = new ContentHash();
+                hash.add(chunk);
+                SharedSectionStore.Key key = new SharedSectionStore.Key(dimension, position, chunkY, hash.finish1(), hash.finish2());
+                cachedColumn.sections[chunkY] = SharedSectionStore.acquire(key, () -> toStorage(chunk));
+                cachedColumn.sharedKeys[chunkY] = key;
+            } else {
+                cachedColumn.sections[chunkY] = toStorage(chunk);
+            }
+        }
+
+        CachedColumn oldColumn;
+        synchronized (this) {
+            if (closed) {
+                oldColumn = cachedColumn;
+            } else {
+                oldColumn = this.chunks.put(position, cachedColumn);
+            }
+        }
+        if (oldColumn != null) {
+            oldColumn.release();
+        }
     }
 
-    public void updateBlock(Position position, int block) {
-        if (!cache) {
-            return;
+    private static BlockStorage toStorage(Chunk chunk) {
+        if (chunk.getStorage().getBitsPerEntry() > 8) {
+            // The global palette is used, so the stored values are the block states
+            BlockStorage storage = new BlockStorage(BitArrayVersion.V8);
+            for (int index = 0; index < 4096; index++) {
+                int blockState = chunk.getStorage().get(index);
+                if (blockState != BlockTranslator.AIR) {
+                    storage.setFullBlock(index, blockState);
+                }
+            }
+            return storage;
         }
-        ChunkPosition chunkPosition = new ChunkPosition(position.getX() >> 4, position.getZ() >> 4);
-        if (!chunks.containsKey(chunkPosition))
+
+        // Air may not be part of the Java palette but is always the first entry of ours
+        int paletteSize = chunk.getPalette().size();
+        BlockStorage storage = new BlockStorage(BitArrayVersion.forMaxEntryValue(paletteSize));
+        int[] paletteIndexes = new int[paletteSize];
+        for (int i = 0; i < paletteSize; i++) {
+            paletteIndexes[i] = storage.idFor(chunk.getPalette().idToState(i));
+        }
+
+        // Both use the Java YZX index order
+        for (int index = 0; index < 4096; index++) {
+            int paletteIndex = paletteIndexes[chunk.getStorage().get(index)];
+            if (paletteIndex != 0) {
+                storage.setPaletteIndex(index, paletteIndex);
+            }
+        }
+        return storage;
+    }
+
+    public void updateBlock(int x, int y, int z, int block) {
+        if (!cache || y < 0 || y >= SECTION_COUNT << 4) {
             return;
+        }
 
-        Column column = chunks.get(chunkPosition);
-        Chunk chunk = column.getChunks()[position.getY() >> 4];
-        Position blockPosition = chunkPosition.getChunkBlock(position.getX(), position.getY(), position.getZ());
-        if (chunk != null) {
-            // System.out.println("Before: " + chunk.get(blockPosition.getX(), blockPosition.getY(), blockPosition.getZ()));
-            // System.out.println("Setting: " + block);
-            chunk.set(blockPosition.getX(), blockPosition.getY(), blockPosition.getZ(), block);
-            // System.out.println("After: " + chunk.get(blockPosition.getX(), blockPosition.getY(), blockPosition.getZ()));
+        int index = blockIndex(x, y, z);
+        synchronized (this) {
+            CachedColumn column = chunks.get(MathUtils.chunkPositionToLong(x >> 4, z >> 4));
+            if (column == null) {
+                return;
+            }
+
+            int chunkY = y >> 4;
+            BlockStorage section = column.sections[chunkY];
+            if (section == null) {
+                if (block == BlockTranslator.AIR) {
+                    return;
+                }
+                section = new BlockStorage();
+                column.sections[chunkY] = section;
+            } else if (column.sharedKeys[chunkY] != null) {
+                if (section.getFullBlock(index) == block) {
+                    return;
+                }
+                // Other sessions still see the shared section, so change a copy of it
+                section = section.copy();
+                column.sections[chunkY] = section;
+                SharedSectionStore.release(column.sharedKeys[chunkY]);
+                column.sharedKeys[chunkY] = null;
+            }
+            section.setFullBlock(index, block);
         }
     }
 
-    public int getBlockAt(Position position) {
-        if (!cache) {
+    public int getBlockAt(int x, int y, int z) {
+        if (!cache || y < 0 || y >= SECTION_COUNT << 4) {
             return BlockTranslator.AIR;
         }
-        ChunkPosition chunkPosition = new ChunkPosition(position.getX() >> 4, position.getZ() >> 4);
-        if (!chunks.containsKey(chunkPosition))
-            return BlockTranslator.AIR;
 
-        Column column = chunks.get(chunkPosition);
-        Chunk chunk = column.getChunks()[position.getY() >> 4];
-        Position blockPosition = chunkPosition.getChunkBlock(position.getX(), position.getY(), position.getZ());
-        if (chunk != null) {
-            return chunk.get(blockPosition.getX(), blockPosition.getY(), blockPosition.getZ());
+        BlockStorage section;
+        synchronized (this) {
+            CachedColumn column = chunks.get(MathUtils.chunkPositionToLong(x >> 4, z >> 4));
+            if (column == null) {
+                return BlockTranslator.AIR;
+            }
+            section = column.sections[y >> 4];
         }
 
-        return BlockTranslator.AIR;
+        if (section == null) {
+            return BlockTranslator.AIR;
+        }
+        return section.getFullBlock(blockIndex(x, y, z));
     }
 
-    public void removeChunk(ChunkPosition position) {
+    public void removeChunk(int chunkX, int chunkZ) {
         if (!cache) {
             return;
         }
-        chunks.remove(position);
+
+        CachedColumn column;
+        synchronized (this) {
+            column = chunks.remove(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+        }
+        if (column != null) {
+            column.release();
+        }
+    }
+
+    /**
+     * Remove every chunk, such as when the player changes dimension
+     */
+    public void clear() {
+        CachedColumn[] columns;
+        synchronized (this) {
+            columns = chunks.values().toArray(new CachedColumn[0]);
+            chunks.clear();
+        }
+        for (CachedColumn column : columns) {
+            column.release();
+        }
+    }
+
+    /**
+     * Remove every chunk and stop caching new ones. Called when the session disconnects.
+     */
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        clear();
+    }
+
+    /**
+     * @return the number of chunks kept for this session
+     */
+    public synchronized int getChunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * @return an estimate of the memory used by the block data of this session, in bytes.
+     * Sections held in the {@link SharedSectionStore} are not included.
+     */
+    public synchronized long getMemoryUsage() {
+        long memoryUsage = 0;
+        for (CachedColumn column : chunks.values()) {
+            memoryUsage += 48 + SECTION_COUNT * 8; // The section and key arrays
+            for (int chunkY = 0; chunkY < SECTION_COUNT; chunkY++) {
+                if (column.sections[chunkY] != null && column.sharedKeys[chunkY] == null) {
+                    memoryUsage += column.sections[chunkY].getMemoryUsage();
+                }
+            }
+        }
+        return memoryUsage;
+    }
+
+    // Java section index order is YZX
+    private static int blockIndex(int x, int y, int z) {
+        return (y & 0xF) << 8 | (z & 0xF) << 4 | (x & 0xF);
+    }
+
+    private static class CachedColumn {
+        // Null sections contain only air
+        private final BlockStorage[] sections = new BlockStorage[SECTION_COUNT];
+        // The key of each section that is held in the shared store
+        private final SharedSectionStore.Key[] sharedKeys = new SharedSectionStore.Key[SECTION_COUNT];
+
+        private void release() {
+            for (int chunkY = 0; chunkY < SECTION_COUNT; chunkY++) {
+                if (sharedKeys[chunkY] != null) {
+                    SharedSectionStore.release(sharedKeys[chunkY]);
+                    sharedKeys[chunkY] = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reports the chunk caches of every session
+     */
+    public static class Stats implements StatsProvider {
+        private final GeyserConnector connector;
+
+        public Stats(GeyserConnector connector) {
+            this.connector = connector;
+        }
+
+        @Override
+        public String getName() {
+            return "sessionChunkCaches";
+        }
+
+        @Override
+        public String getSummary() {
+            if (!connector.getConfig().isCacheChunks()) {
+                return null;
+            }
+
+            int chunkCount = 0;
+            long memoryUsage = 0;
+            for (GeyserSession session : new ArrayList<>(connector.getPlayers())) {
+                chunkCount += session.getChunkCache().getChunkCount();
+                memoryUsage += session.getChunkCache().getMemoryUsage();
+            }
+            return String.format("Session chunk caches: %d chunks, %.1f MB", chunkCount, memoryUsage / (1024D * 1024D));
+        }
+
+        @Override
+        public Map<String, Object> getStats() {
+            List<Map<String, Object>> sessions = new ArrayList<>();
+            for (GeyserSession session : new ArrayList<>(connector.getPlayers())) {
+                Map<String, Object> sessionInfo = new LinkedHashMap<>();
+                sessionInfo.put("name", session.getName());
+                sessionInfo.put("chunks", session.getChunkCache().getChunkCount());
+                sessionInfo.put("memoryUsage", session.getChunkCache().getMemoryUsage());
+                sessions.add(sessionInfo);
+            }
+
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("enabled", connector.getConfig().isCacheChunks());
+            info.put("sessions", sessions);
+            return info;
+        }
     }
 }
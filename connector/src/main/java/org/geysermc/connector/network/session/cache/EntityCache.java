@@ -74,6 +74,7 @@ public class EntityCache {
 
     public boolean removeEntity(Entity entity, boolean force) {
         if (entity != null && entity.isValid() && (force || entity.despawnEntity(session))) {
+            session.getEntityUpdateBuffer().removeEntity(entity);
             long geyserId = entityIdTranslations.remove(entity.getEntityId());
             entities.remove(geyserId);
             if (entity.is(PlayerEntity.class)) {
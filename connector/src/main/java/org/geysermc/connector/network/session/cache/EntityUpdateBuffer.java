@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ *
+ *  @author GeyserMC
+ *  @link https://github.com/GeyserMC/Geyser
+ *
+ */
+
+package org.geysermc.connector.network.session.cache;
+
+import com.github.steveice10.mc.protocol.packet.ingame.server.entity.ServerEntityHeadLookPacket;
+import com.github.steveice10.mc.protocol.packet.ingame.server.entity.ServerEntityPositionPacket;
+import com.github.steveice10.mc.protocol.packet.ingame.server.entity.ServerEntityPositionRotationPacket;
+import com.github.steveice10.mc.protocol.packet.ingame.server.entity.ServerEntityRotationPacket;
+import com.github.steveice10.mc.protocol.packet.ingame.server.entity.ServerEntityTeleportPacket;
+import com.github.steveice10.packetlib.packet.Packet;
+import com.nukkitx.protocol.bedrock.BedrockPacket;
+import com.nukkitx.protocol.bedrock.packet.MoveEntityAbsolutePacket;
+import com.nukkitx.protocol.bedrock.packet.SetEntityDataPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import lombok.Getter;
+import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.entity.Entity;
+import org.geysermc.connector.metrics.StatsProvider;
+import org.geysermc.connector.network.session.GeyserSession;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Merges the movement updates of each entity so at most one is sent per tick.
+ *
+ * Java servers can move the same entity several times in one tick (for example a relative move and a head rotation).
+ * Only the latest position and rotation matter to the client, and moves that don't change anything are dropped.
+ *
+ * Any other packet about an entity must not overtake its moves, so the pending moves are sent before every Java packet
+ * that isn't a move, and the pending move of an entity is sent before its metadata.
+ */
+public class EntityUpdateBuffer {
+
+    private static final long TICK_MILLIS = 50;
+
+    // Java packets that only move entities, which don't need the pending moves to be sent first
+    private static final Set<Class<? extends Packet>> MOVE_PACKETS = new HashSet<>(Arrays.asList(
+            ServerEntityPositionPacket.class, ServerEntityRotationPacket.class, ServerEntityPositionRotationPacket.class,
+            ServerEntityHeadLookPacket.class, ServerEntityTeleportPacket.class));
+
+    @Getter
+    private static final AtomicLong queuedMoves = new AtomicLong();
+    @Getter
+    private static final AtomicLong sentMoves = new AtomicLong();
+    // Encoded sizes of the moves, only measured while event timings are enabled
+    @Getter
+    private static final AtomicLong queuedMoveBytes = new AtomicLong();
+    @Getter
+    private static final AtomicLong sentMoveBytes = new AtomicLong();
+
+    public static final StatsProvider STATS = new Stats();
+
+    private final GeyserSession session;
+    private final boolean enabled;
+
+    // The state of every entity that has been moved, by Geyser ID
+    private final Long2ObjectMap<EntityUpdate> updates = new Long2ObjectOpenHashMap<>();
+    private final List<EntityUpdate> dirtyUpdates = new ArrayList<>();
+    private boolean flushScheduled = false;
+
+    public EntityUpdateBuffer(GeyserSession session) {
+        this.session = session;
+        this.enabled = session.getConnector().getConfig().isCoalesceEntityUpdates();
+    }
+
+    /**
+     * Queue the movement of an entity, replacing any move of it not sent yet
+     *
+     * @param entity the entity that moved
+     * @param packet the packet with its new position and rotation
+     */
+    public void moveEntity(Entity entity, MoveEntityAbsolutePacket packet) {
+        int size = measure(packet);
+        queuedMoves.incrementAndGet();
+        queuedMoveBytes.addAndGet(size);
+        if (!enabled) {
+            sendMove(packet, size);
+            return;
+        }
+
+        synchronized (this) {
+            EntityUpdate update = getUpdate(entity);
+            if (update.move != null && update.move.isTeleported()) {
+                // A teleport must stay a teleport even if the entity moves again this tick
+                packet.setTeleported(true);
+            }
+            update.move = packet;
+            update.moveSize = size;
+            if (!update.dirty) {
+                update.dirty = true;
+                dirtyUpdates.add(update);
+            }
+            if (!flushScheduled) {
+                flushScheduled = true;
+                session.getConnector().getGeneralThreadPool().schedule(this::flush, TICK_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Send the metadata of an entity, after its pending move
+     *
+     * @param entity the entity with changed metadata
+     */
+    public void updateMetadata(Entity entity) {
+        flushEntity(entity);
+        if (entity.isValid()) {
+            SetEntityDataPacket entityDataPacket = new SetEntityDataPacket();
+            entityDataPacket.setRuntimeEntityId(entity.getGeyserId());
+            entityDataPacket.getMetadata().putAll(entity.getMetadata());
+            session.sendUpstreamPacket(entityDataPacket);
+        }
+    }
+
+    /**
+     * Send the pending moves before a Java packet is translated, unless the packet is a move itself
+     *
+     * @param packet the Java packet about to be translated
+     */
+    public void beforeDownstreamPacket(Packet packet) {
+        if (!MOVE_PACKETS.contains(packet.getClass())) {
+            flush();
+        }
+    }
+
+    /**
+     * Forget an entity, dropping its move if it was not sent yet
+     *
+     * @param entity the removed entity
+     */
+    public synchronized void removeEntity(Entity entity) {
+        EntityUpdate update = updates.remove(entity.getGeyserId());
+        if (update != null && update.dirty) {
+            update.dirty = false;
+            dirtyUpdates.remove(update);
+        }
+    }
+
+    /**
+     * Forget every entity, such as when switching dimension
+     */
+    public synchronized void clear() {
+        updates.clear();
+        dirtyUpdates.clear();
+    }
+
+    private EntityUpdate getUpdate(Entity entity) {
+        EntityUpdate update = updates.get(entity.getGeyserId());
+        if (update == null || update.entity != entity) {
+            update = new EntityUpdate(entity);
+            updates.put(entity.getGeyserId(), update);
+        }
+        return update;
+    }
+
+    /**
+     * Send the pending move of an entity
+     */
+    private void flushEntity(Entity entity) {
+        if (!enabled) {
+            return;
+        }
+
+        MoveEntityAbsolutePacket move;
+        int size;
+        synchronized (this) {
+            EntityUpdate update = updates.get(entity.getGeyserId());
+            if (update == null || update.entity != entity || update.move == null) {
+                return;
+            }
+            move = takeMove(update);
+            size = update.moveSize;
+        }
+        if (move != null) {
+            sendMove(move, size);
+        }
+    }
+
+    /**
+     * Send every pending move
+     */
+    public void flush() {
+        List<MoveEntityAbsolutePacket> moves;
+        IntList sizes;
+        synchronized (this) {
+            flushScheduled = false;
+            if (dirtyUpdates.isEmpty()) {
+                return;
+            }
+
+            moves = new ArrayList<>(dirtyUpdates.size());
+            sizes = new IntArrayList(dirtyUpdates.size());
+            for (EntityUpdate update : dirtyUpdates) {
+                update.dirty = false;
+                MoveEntityAbsolutePacket move = takeMove(update);
+                if (move != null) {
+                    moves.add(move);
+                    sizes.add(update.moveSize);
+                }
+            }
+            dirtyUpdates.clear();
+        }
+
+        for (int i = 0; i < moves.size(); i++) {
+            sendMove(moves.get(i), sizes.getInt(i));
+        }
+    }
+
+    /**
+     * Take the pending move of an entity
+     *
+     * @return the move or null if the client already has the entity there
+     */
+    private MoveEntityAbsolutePacket takeMove(EntityUpdate update) {
+        MoveEntityAbsolutePacket move = update.move;
+        update.move = null;
+        if (move == null) {
+            return null;
+        }
+        // Skip moves to where the client already has the entity
+        if (move.isTeleported() || update.lastSentMove == null || !move.getPosition().equals(update.lastSentMove.getPosition())
+                || !move.getRotation().equals(update.lastSentMove.getRotation()) || move.isOnGround() != update.lastSentMove.isOnGround()) {
+            update.lastSentMove = move;
+            return move;
+        }
+        return null;
+    }
+
+    private void sendMove(MoveEntityAbsolutePacket move, int size) {
+        if (session.isClosed()) {
+            return;
+        }
+        sentMoves.incrementAndGet();
+        sentMoveBytes.addAndGet(size);
+        session.sendUpstreamPacket(move);
+    }
+
+    /**
+     * Get the encoded size of a packet while event timings are enabled
+     *
+     * @return the size in bytes, or 0 if timings are disabled
+     */
+    private int measure(BedrockPacket packet) {
+        if (!session.getConnector().getEventManager().getTimings().isEnabled()) {
+            return 0;
+        }
+        ByteBuf buffer = ByteBufAllocator.DEFAULT.ioBuffer(32);
+        try {
+            session.getUpstream().getSession().getPacketCodec().tryEncode(buffer, packet);
+            return buffer.readableBytes();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static class EntityUpdate {
+        private final Entity entity;
+        private MoveEntityAbsolutePacket move;
+        private int moveSize;
+        private MoveEntityAbsolutePacket lastSentMove;
+        private boolean dirty;
+
+        private EntityUpdate(Entity entity) {
+            this.entity = entity;
+        }
+    }
+
+    private static class Stats implements StatsProvider {
+
+        @Override
+        public String getName() {
+            return "entityUpdates";
+        }
+
+        @Override
+        public String getSummary() {
+            if (!GeyserConnector.getInstance().getConfig().isCoalesceEntityUpdates()) {
+                return null;
+            }
+            return String.format("Entity updates: %d/%d moves sent (%d KB instead of %d KB while timings were enabled)",
+                    sentMoves.get(), queuedMoves.get(), sentMoveBytes.get() / 1024, queuedMoveBytes.get() / 1024);
+        }
+
+        @Override
+        public Map<String, Object> getStats() {
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("enabled", GeyserConnector.getInstance().getConfig().isCoalesceEntityUpdates());
+            info.put("queuedMoves", queuedMoves.get());
+            info.put("sentMoves", sentMoves.get());
+            info.put("queuedMoveBytes", queuedMoveBytes.get());
+            info.put("sentMoveBytes", sentMoveBytes.get());
+            return info;
+        }
+    }
+}
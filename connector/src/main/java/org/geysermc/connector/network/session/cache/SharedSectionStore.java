@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ *
+ *  @author GeyserMC
+ *  @link https://github.com/GeyserMC/Geyser
+ *
+ */
+
+package org.geysermc.connector.network.session.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.metrics.StatsProvider;
+import org.geysermc.connector.network.translators.world.chunk.BlockStorage;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Chunk sections shared by the {@link ChunkCache} of every session.
+ *
+ * Players in the same world receive the same sections, so each distinct section is only kept once. Sections are
+ * reference counted and removed once no session holds them anymore. A shared section must never be modified;
+ * sessions replace it with their own copy when a block in it changes.
+ */
+public class SharedSectionStore {
+
+    private static final Map<Key, Entry> SECTIONS = new HashMap<>();
+
+    private static boolean ENABLED;
+
+    public static final StatsProvider STATS = new Stats();
+
+    public static void init() {
+        ENABLED = GeyserConnector.getInstance().getConfig().isShareChunkCache();
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Get the shared section with the given key and add a reference to it.
+     * Every call must be followed by a {@link #release(Key)} once the section is no longer used.
+     *
+     * @param key the key of the section
+     * @param factory creates the section if it isn't shared yet
+     * @return the shared section
+     */
+    public static BlockStorage acquire(Key key, Supplier<BlockStorage> factory) {
+        synchronized (SECTIONS) {
+            Entry entry = SECTIONS.get(key);
+            if (entry != null) {
+                entry.references++;
+                return entry.storage;
+            }
+        }
+
+        // Build the section without holding the lock
+        BlockStorage storage = factory.get();
+        synchronized (SECTIONS) {
+            Entry entry = SECTIONS.get(key);
+            if (entry == null) {
+                entry = new Entry(storage, 0);
+                SECTIONS.put(key, entry);
+            }
+            entry.references++;
+            return entry.storage;
+        }
+    }
+
+    public static void release(Key key) {
+        synchronized (SECTIONS) {
+            Entry entry = SECTIONS.get(key);
+            if (entry != null && --entry.references <= 0) {
+                SECTIONS.remove(key);
+            }
+        }
+    }
+
+    /**
+     * @return the number of distinct sections held
+     */
+    public static int size() {
+        synchronized (SECTIONS) {
+            return SECTIONS.size();
+        }
+    }
+
+    /**
+     * @return the number of section references held by all sessions
+     */
+    public static long getReferenceCount() {
+        synchronized (SECTIONS) {
+            long references = 0;
+            for (Entry entry : SECTIONS.values()) {
+                references += entry.references;
+            }
+            return references;
+        }
+    }
+
+    /**
+     * @return an estimate of the memory used by the shared sections, in bytes
+     */
+    public static long getMemoryUsage() {
+        synchronized (SECTIONS) {
+            long memoryUsage = 0;
+            for (Entry entry : SECTIONS.values()) {
+                memoryUsage += entry.storage.getMemoryUsage();
+            }
+            return memoryUsage;
+        }
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    public static class Key {
+        private final String dimension;
+        private final long chunkPosition;
+        private final int sectionY;
+        private final long hash1;
+        private final long hash2;
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final BlockStorage storage;
+        private int references;
+    }
+
+    private static class Stats implements StatsProvider {
+
+        @Override
+        public String getName() {
+            return "sharedChunkSections";
+        }
+
+        @Override
+        public String getSummary() {
+            if (!isEnabled()) {
+                return null;
+            }
+            return String.format("Shared chunk sections: %d sections, %d references, %.1f MB", size(),
+                    getReferenceCount(), getMemoryUsage() / (1024D * 1024D));
+        }
+
+        @Override
+        public Map<String, Object> getStats() {
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("enabled", isEnabled());
+            info.put("sections", size());
+            info.put("references", getReferenceCount());
+            info.put("memoryUsage", getMemoryUsage());
+            return info;
+        }
+    }
+}
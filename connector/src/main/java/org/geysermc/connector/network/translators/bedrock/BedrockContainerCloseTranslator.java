@@ -62,8 +62,9 @@ public class BedrockContainerCloseTranslator extends PacketTranslator<ContainerC
             }
         };
 
-        if (Transaction.CURRENT_TRANSACTION != null) {
-            Transaction.CURRENT_TRANSACTION.add(new Execute(runnable));
+        Transaction transaction = session.getTransactionQueue().getCurrentTransaction();
+        if (transaction != null) {
+            transaction.add(new Execute(runnable));
         } else {
             runnable.run();
         }
@@ -39,10 +39,7 @@ import org.geysermc.connector.entity.type.EntityType;
 import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.network.translators.PacketTranslator;
 import org.geysermc.connector.network.translators.Translator;
-import org.geysermc.connector.network.translators.world.collision.translators.BlockCollision;
-
-import java.util.ArrayList;
-import java.util.Iterator;
+import org.geysermc.connector.utils.MathUtils;
 
 @Translator(packet = MovePlayerPacket.class)
 public class BedrockMovePlayerTranslator extends PacketTranslator<MovePlayerPacket> {
@@ -82,9 +79,9 @@ public class BedrockMovePlayerTranslator extends PacketTranslator<MovePlayerPack
             return;
         }
 
-        // We need to parse the float as a string since casting a float to a double causes us to
+        // We need to convert the float through its decimal value since casting a float to a double causes us to
         // lose precision and thus, causes players to get stuck when walking near walls
-        double javaY = Double.parseDouble(Float.toString(packet.getPosition().getY())) - EntityType.PLAYER.getOffset();
+        double javaY = MathUtils.floatToDecimal(packet.getPosition().getY()) - EntityType.PLAYER.getOffset();
 
         // System.out.println("Y pos: " + javaY);
 
@@ -99,8 +96,8 @@ public class BedrockMovePlayerTranslator extends PacketTranslator<MovePlayerPack
 
         }
 
-        Vector3d position = Vector3d.from(Double.parseDouble(Float.toString(packet.getPosition().getX())), javaY,
-                Double.parseDouble(Float.toString(packet.getPosition().getZ())));
+        Vector3d position = Vector3d.from(MathUtils.floatToDecimal(packet.getPosition().getX()), javaY,
+                MathUtils.floatToDecimal(packet.getPosition().getZ()));
     //    System.out.println("Pre-pos!!!: " + position);
 
         if (!session.confirmTeleport(position)){
@@ -110,33 +107,7 @@ public class BedrockMovePlayerTranslator extends PacketTranslator<MovePlayerPack
         if (session.getConnector().getConfig().isCacheChunks()) {
             // With chunk caching, we can do some proper collision checks
 
-            entity.updateBoundingBox(position);
-            // System.out.println("First Y: " + (entity.getBoundingBox().getMiddleY() - 0.9));
-            ArrayList<BlockCollision> possibleCollision = entity.getPossibleCollision(position, session);
-
-            Iterator<BlockCollision> i = possibleCollision.iterator();
-            while (i.hasNext()) {
-                BlockCollision blockCollision = i.next();
-                if (blockCollision != null) {
-                    // Used when correction code needs to be run before the main correction
-                    blockCollision.beforeCorrectPosition(entity.getBoundingBox());
-                }
-            }
-            // System.out.println("Second Y: " + (entity.getBoundingBox().getMiddleY() - 0.9));
-
-            // Reset iterator
-            i = possibleCollision.iterator();
-            while (i.hasNext()) {
-                BlockCollision blockCollision = i.next();
-                if (blockCollision != null) {
-                    blockCollision.correctPosition(entity.getBoundingBox());
-                    /* entity.getBoundingBox().translate(0, 0.1, 0); // Hack to not check y
-                    if (blockCollision.checkIntersection(entity.getBoundingBox())) {
-                        System.out.println("Collision with " + blockCollision);
-                    }
-                    entity.getBoundingBox().translate(0, -0.1, 0); // Hack to not check y */
-                }
-            }
+            entity.correctPosition(session, position.getX(), position.getY(), position.getZ());
 
             // System.out.println("Final Y: " + (entity.getBoundingBox().getMiddleY() - 0.9));
             position = Vector3d.from(entity.getBoundingBox().getMiddleX(), entity.getBoundingBox().getMiddleY() - 0.9,
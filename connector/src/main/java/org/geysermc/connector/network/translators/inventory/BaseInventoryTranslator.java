@@ -184,7 +184,7 @@ public abstract class BaseInventoryTranslator extends InventoryTranslator{
             }
         }));
 
-        Transaction.execute();
+        session.getTransactionQueue().execute();
     }
 
     protected void processAction(Transaction transaction, ActionData cursor, ActionData from, ActionData to) {
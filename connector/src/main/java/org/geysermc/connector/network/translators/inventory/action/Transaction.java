@@ -32,21 +32,18 @@ import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.network.translators.inventory.InventoryTranslator;
 import org.geysermc.connector.utils.InventoryUtils;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.PriorityQueue;
 
 /**
  * A transaction is created when changes are made to the Inventory. This will store changes sent to us from
  * downstream and playback a series of actions.
+ *
+ * Transactions are queued per session in its {@link TransactionQueue}.
  */
 
 @Getter
 @ToString(onlyExplicitlyIncluded = true)
 public class Transaction {
-    public static final List<Transaction> TRANSACTIONS = new ArrayList<>();
-    public static Transaction CURRENT_TRANSACTION = null;
-
     @ToString.Include
     private final PriorityQueue<BaseAction> actions = new PriorityQueue<>();
 
@@ -57,8 +54,6 @@ public class Transaction {
     private final InventoryTranslator translator;
     private final Inventory inventory;
 
-    private static boolean running = false;
-
     private Transaction(GeyserSession session, InventoryTranslator translator, Inventory inventory) {
         this.session = session;
         this.translator = translator;
@@ -75,7 +70,7 @@ public class Transaction {
      */
     void start() {
         if (actions.isEmpty()) {
-            nextTransaction();
+            session.getTransactionQueue().nextTransaction();
             return;
         }
         next();
@@ -85,50 +80,30 @@ public class Transaction {
      * Execute the next action
      */
     public void next() {
-        if (actions.isEmpty()) {
-            currentAction = null;
-            nextTransaction();
-            return;
+        synchronized (session.getTransactionQueue()) {
+            // A delayed confirmation may arrive after the transaction was cancelled
+            if (!session.getTransactionQueue().isCurrent(this)) {
+                return;
+            }
+
+            if (actions.isEmpty()) {
+                currentAction = null;
+                session.getTransactionQueue().nextTransaction();
+                return;
+            }
+
+            currentAction = actions.remove();
+            currentAction.execute();
         }
-
-        currentAction = actions.remove();
-        currentAction.execute();
     }
 
+    /**
+     * Create a transaction and queue it in the session's {@link TransactionQueue}.
+     * It runs once {@link TransactionQueue#execute()} is called and the transactions before it have finished.
+     */
     public static Transaction of(GeyserSession session, InventoryTranslator translator, Inventory inventory) {
         Transaction ret = new Transaction(session, translator, inventory);
-        TRANSACTIONS.add(ret);
+        session.getTransactionQueue().add(ret);
         return ret;
     }
-
-    /**
-     * Start Execution of Transactions if not already started
-     */
-    public static void execute() {
-        if (running || TRANSACTIONS.isEmpty()) {
-            return;
-        }
-
-        running = true;
-
-        nextTransaction();
-    }
-
-    public static void nextTransaction() {
-        if (TRANSACTIONS.isEmpty()) {
-            CURRENT_TRANSACTION = null;
-            running = false;
-            return;
-        }
-
-        CURRENT_TRANSACTION = TRANSACTIONS.remove(0);
-        CURRENT_TRANSACTION.start();
-    }
-
-    public static void cancel() {
-        running = false;
-        TRANSACTIONS.clear();
-        CURRENT_TRANSACTION = null;
-    }
-
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ *
+ *  @author GeyserMC
+ *  @link https://github.com/GeyserMC/Geyser
+ *
+ */
+
+package org.geysermc.connector.network.translators.inventory.action;
+
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * The inventory transactions of a session. Transactions are played back one at a time in the order they were
+ * created, and only the session owning the queue can start, confirm or cancel them.
+ */
+public class TransactionQueue {
+
+    private final Deque<Transaction> transactions = new ArrayDeque<>();
+
+    /**
+     * The transaction currently being played back, or null if the queue is idle
+     */
+    @Getter
+    private volatile Transaction currentTransaction = null;
+
+    private boolean running = false;
+
+    synchronized void add(Transaction transaction) {
+        transactions.add(transaction);
+    }
+
+    /**
+     * Start Execution of Transactions if not already started
+     */
+    public synchronized void execute() {
+        if (running || transactions.isEmpty()) {
+            return;
+        }
+
+        running = true;
+
+        nextTransaction();
+    }
+
+    synchronized void nextTransaction() {
+        if (transactions.isEmpty()) {
+            currentTransaction = null;
+            running = false;
+            return;
+        }
+
+        currentTransaction = transactions.poll();
+        currentTransaction.start();
+    }
+
+    /**
+     * Forward a server confirmation to the action waiting for it
+     *
+     * @param windowId the window the confirmation is for
+     * @param actionId the action number of the confirmation
+     * @param accepted whether the server accepted the action
+     */
+    public synchronized void confirm(int windowId, int actionId, boolean accepted) {
+        Transaction transaction = currentTransaction;
+        if (transaction == null || !(transaction.getCurrentAction() instanceof ConfirmAction)
+                || transaction.getInventory().getId() != windowId) {
+            return;
+        }
+
+        // If we have a transaction and its a ConfirmAction we confirm it
+        ((ConfirmAction) transaction.getCurrentAction()).confirm(actionId, accepted);
+    }
+
+    /**
+     * Whether the given transaction is the one being played back
+     */
+    synchronized boolean isCurrent(Transaction transaction) {
+        return currentTransaction == transaction;
+    }
+
+    /**
+     * Drop the current and all queued transactions
+     */
+    public synchronized void cancel() {
+        running = false;
+        transactions.clear();
+        currentTransaction = null;
+    }
+}
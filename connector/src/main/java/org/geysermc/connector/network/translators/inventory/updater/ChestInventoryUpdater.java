@@ -26,8 +26,6 @@
 package org.geysermc.connector.network.translators.inventory.updater;
 
 import com.nukkitx.protocol.bedrock.data.inventory.ItemData;
-import com.nukkitx.protocol.bedrock.packet.InventoryContentPacket;
-import com.nukkitx.protocol.bedrock.packet.InventorySlotPacket;
 import lombok.AllArgsConstructor;
 import org.geysermc.connector.inventory.Inventory;
 import org.geysermc.connector.network.session.GeyserSession;
@@ -55,10 +53,7 @@ public class ChestInventoryUpdater extends InventoryUpdater {
             }
         }
 
-        InventoryContentPacket contentPacket = new InventoryContentPacket();
-        contentPacket.setContainerId(inventory.getId());
-        contentPacket.setContents(bedrockItems);
-        session.sendUpstreamPacket(contentPacket);
+        sendContents(session, inventory, bedrockItems);
     }
 
     @Override
@@ -66,11 +61,7 @@ public class ChestInventoryUpdater extends InventoryUpdater {
         if (super.updateSlot(translator, session, inventory, javaSlot))
             return true;
 
-        InventorySlotPacket slotPacket = new InventorySlotPacket();
-        slotPacket.setContainerId(inventory.getId());
-        slotPacket.setSlot(translator.javaSlotToBedrock(javaSlot));
-        slotPacket.setItem(ItemTranslator.translateToBedrock(session, inventory.getItem(javaSlot)));
-        session.sendUpstreamPacket(slotPacket);
+        sendSlot(session, inventory, translator.javaSlotToBedrock(javaSlot), ItemTranslator.translateToBedrock(session, inventory.getItem(javaSlot)));
         return true;
     }
 
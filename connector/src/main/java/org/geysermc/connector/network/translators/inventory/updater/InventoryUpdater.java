@@ -34,7 +34,12 @@ import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.network.translators.inventory.InventoryTranslator;
 import org.geysermc.connector.network.translators.item.ItemTranslator;
 
+import java.util.Objects;
+
 public abstract class InventoryUpdater {
+    // Above this share of changed slots one content packet is sent instead of a packet per slot
+    private static final float MAX_CHANGED_SLOTS = 0.5f;
+
     public void updateInventory(InventoryTranslator translator, GeyserSession session, Inventory inventory) {
         ItemData[] bedrockItems = new ItemData[36];
         for (int i = 0; i < 36; i++) {
@@ -58,4 +63,60 @@ public abstract class InventoryUpdater {
         }
         return false;
     }
+
+    /**
+     * Send the items of a container. If the container was sent before only the slots that changed are sent,
+     * unless so many changed that sending everything is cheaper.
+     *
+     * @param session the session to send to
+     * @param inventory the open inventory
+     * @param bedrockItems the items of every slot of the container, by Bedrock slot
+     */
+    protected void sendContents(GeyserSession session, Inventory inventory, ItemData[] bedrockItems) {
+        ItemData[] sentItems = inventory.getBedrockItems();
+        if (sentItems != null && sentItems.length == bedrockItems.length) {
+            int changed = 0;
+            for (int i = 0; i < bedrockItems.length; i++) {
+                if (!Objects.equals(sentItems[i], bedrockItems[i])) {
+                    changed++;
+                }
+            }
+
+            if (changed <= bedrockItems.length * MAX_CHANGED_SLOTS) {
+                for (int i = 0; i < bedrockItems.length; i++) {
+                    if (!Objects.equals(sentItems[i], bedrockItems[i])) {
+                        sendSlot(session, inventory, i, bedrockItems[i]);
+                    }
+                }
+                return;
+            }
+        }
+
+        InventoryContentPacket contentPacket = new InventoryContentPacket();
+        contentPacket.setContainerId(inventory.getId());
+        contentPacket.setContents(bedrockItems);
+        session.sendUpstreamPacket(contentPacket);
+
+        // The client ignores the contents until the window is open, so they only count as sent once it is
+        if (inventory.isOpen()) {
+            // The packet may still be waiting to be sent, so keep a copy that can be changed
+            inventory.setBedrockItems(bedrockItems.clone());
+        }
+    }
+
+    /**
+     * Send the item of one container slot and remember it as sent
+     */
+    protected void sendSlot(GeyserSession session, Inventory inventory, int bedrockSlot, ItemData item) {
+        InventorySlotPacket slotPacket = new InventorySlotPacket();
+        slotPacket.setContainerId(inventory.getId());
+        slotPacket.setSlot(bedrockSlot);
+        slotPacket.setItem(item);
+        session.sendUpstreamPacket(slotPacket);
+
+        ItemData[] sentItems = inventory.getBedrockItems();
+        if (sentItems != null && bedrockSlot >= 0 && bedrockSlot < sentItems.length) {
+            sentItems[bedrockSlot] = item;
+        }
+    }
 }
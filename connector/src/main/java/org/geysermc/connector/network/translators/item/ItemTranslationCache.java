@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ *
+ *  @author GeyserMC
+ *  @link https://github.com/GeyserMC/Geyser
+ *
+ */
+
+package org.geysermc.connector.network.translators.item;
+
+import com.github.steveice10.mc.protocol.data.game.entity.metadata.ItemStack;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.nukkitx.protocol.bedrock.data.inventory.ItemData;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.metrics.StatsProvider;
+import org.geysermc.connector.utils.ContentHash;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of translated Bedrock items shared by all sessions.
+ *
+ * Entries are keyed by the Java item id, amount, a 128 bit hash of the item's NBT and the locale of the player, so
+ * inventories that are sent again (such as plugin menus refreshed every second) only have their items translated once.
+ * Bedrock items are immutable so the cached instances are handed out as they are.
+ */
+public class ItemTranslationCache {
+
+    private static Cache<Key, ItemData> CACHE;
+
+    public static final StatsProvider STATS = new Stats();
+
+    public static void init() {
+        int maxEntries = GeyserConnector.getInstance().getConfig().getItemTranslationCacheSize();
+        if (maxEntries <= 0) {
+            CACHE = null;
+            return;
+        }
+
+        CACHE = CacheBuilder.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+    }
+
+    public static boolean isEnabled() {
+        return CACHE != null;
+    }
+
+    /**
+     * Create the key of an item
+     *
+     * @param stack Java item
+     * @param locale the locale the item name is translated to
+     * @return the key or null if the cache is disabled
+     */
+    public static Key keyOf(ItemStack stack, String locale) {
+        if (CACHE == null) {
+            return null;
+        }
+
+        ContentHash hash = new ContentHash();
+        if (stack.getNbt() == null) {
+            hash.add(-1);
+        } else {
+            hash.add(stack.getNbt());
+        }
+
+        return new Key(stack.getId(), stack.getAmount(), hash.finish1(), hash.finish2(), locale);
+    }
+
+    /**
+     * Return the cached translation of an item
+     *
+     * @param key the key from {@link #keyOf(ItemStack, String)}
+     * @return the cached item or null if there is none
+     */
+    public static ItemData get(Key key) {
+        if (CACHE == null || key == null) {
+            return null;
+        }
+        return CACHE.getIfPresent(key);
+    }
+
+    public static void put(Key key, ItemData itemData) {
+        if (CACHE != null && key != null) {
+            CACHE.put(key, itemData);
+        }
+    }
+
+    /**
+     * Drop every cached item. Called when item translators change, as cached items may have been translated
+     * differently.
+     */
+    public static void invalidate() {
+        if (CACHE != null) {
+            CACHE.invalidateAll();
+        }
+    }
+
+    /**
+     * Return the hit and miss statistics of the cache
+     */
+    public static CacheStats getStats() {
+        return CACHE != null ? CACHE.stats() : new CacheStats(0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Return the number of translated items held
+     */
+    public static long size() {
+        return CACHE != null ? CACHE.size() : 0;
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    public static class Key {
+        private final int javaId;
+        private final int amount;
+        private final long hash1;
+        private final long hash2;
+        private final String locale;
+    }
+
+    private static class Stats implements StatsProvider {
+
+        @Override
+        public String getName() {
+            return "itemTranslationCache";
+        }
+
+        @Override
+        public String getSummary() {
+            if (!isEnabled()) {
+                return null;
+            }
+            CacheStats stats = ItemTranslationCache.getStats();
+            return String.format("Item translation cache: %d items, %.1f%% hit rate, %d hits, %d misses, %d evictions",
+                    size(), stats.hitRate() * 100, stats.hitCount(), stats.missCount(), stats.evictionCount());
+        }
+
+        @Override
+        public Map<String, Object> getStats() {
+            CacheStats stats = ItemTranslationCache.getStats();
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("enabled", isEnabled());
+            info.put("size", size());
+            info.put("hits", stats.hitCount());
+            info.put("misses", stats.missCount());
+            info.put("hitRate", stats.hitRate());
+            info.put("evictions", stats.evictionCount());
+            return info;
+        }
+    }
+}
@@ -27,7 +27,7 @@
 package org.geysermc.connector.network.translators.item;
 
 import com.github.steveice10.mc.protocol.data.game.entity.metadata.ItemStack;
-import com.github.steveice10.mc.protocol.data.message.MessageSerializer;
+import com.github.steveice10.mc.protocol.data.message.Message;
 import com.github.steveice10.opennbt.tag.builtin.*;
 import com.nukkitx.nbt.NbtList;
 import com.nukkitx.nbt.NbtMap;
@@ -45,6 +45,7 @@ import org.geysermc.connector.event.events.registry.ItemRemapperRegistryEvent;
 import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.network.translators.ItemRemapper;
 import org.geysermc.connector.utils.LanguageUtils;
+import org.geysermc.connector.utils.LocaleUtils;
 import org.geysermc.connector.utils.MessageUtils;
 import org.reflections.Reflections;
 
@@ -68,11 +69,13 @@ public abstract class ItemTranslator {
 
         public Register nbtItemStackTranslator(NbtItemStackTranslator translator) {
             NBT_TRANSLATORS.add(translator);
+            ItemTranslationCache.invalidate();
             return this;
         }
 
         public Register itemTranslator(ItemTranslator translator) {
             REGISTERED_TRANSLATORS.add(translator);
+            ItemTranslationCache.invalidate();
             return this;
         }
     }
@@ -92,6 +95,8 @@ public abstract class ItemTranslator {
         }
 
         NBT_TRANSLATORS.addAll(loadedNbtItemTranslators.keySet().stream().sorted(Comparator.comparingInt(loadedNbtItemTranslators::get)).collect(Collectors.toList()));
+
+        ItemTranslationCache.invalidate();
     }
 
     public static ItemStack translateToJava(ItemData data) {
@@ -123,6 +128,13 @@ public abstract class ItemTranslator {
             return ItemData.AIR;
         }
 
+        String locale = session.getClientData().getLanguageCode();
+        ItemTranslationCache.Key cacheKey = ItemTranslationCache.keyOf(stack, locale);
+        ItemData cached = ItemTranslationCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
         ItemEntry bedrockItem = ItemRegistry.getItem(stack);
 
         com.github.steveice10.opennbt.tag.builtin.CompoundTag nbt = stack.getNbt() != null ? stack.getNbt().clone() : null;
@@ -159,16 +171,18 @@ public abstract class ItemTranslator {
             if (display != null && !display.isEmpty() && display.containsKey("Name")) {
                 String name = display.getString("Name");
 
+                Message message = MessageUtils.parseMessage(name);
+
                 // If its not a message convert it
-                if (!MessageUtils.isMessage(name)) {
+                if (message == null) {
                     TextComponent component = LegacyComponentSerializer.legacySection().deserialize(name);
-                    name = GsonComponentSerializer.gson().serialize(component);
+                    message = MessageUtils.parseMessage(GsonComponentSerializer.gson().serialize(component));
                 }
 
                 // Check if its a message to translate
-                if (MessageUtils.isMessage(name)) {
+                if (message != null) {
                     // Get the translated name
-                    name = MessageUtils.getTranslatedBedrockMessage(MessageSerializer.fromString(name), session.getClientData().getLanguageCode());
+                    name = MessageUtils.getTranslatedBedrockMessage(message, locale);
 
                     // Build the new display tag
                     NbtMapBuilder displayBuilder = display.toBuilder();
@@ -184,6 +198,10 @@ public abstract class ItemTranslator {
             }
         }
 
+        // Names translated before the locale finished loading fall back to English, so they must not be cached
+        if (LocaleUtils.isLocaleLoaded(locale)) {
+            ItemTranslationCache.put(cacheKey, itemData);
+        }
         return itemData;
     }
 
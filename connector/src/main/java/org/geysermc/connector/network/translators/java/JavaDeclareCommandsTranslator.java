@@ -28,6 +28,8 @@ package org.geysermc.connector.network.translators.java;
 import com.github.steveice10.mc.protocol.data.game.command.CommandNode;
 import com.github.steveice10.mc.protocol.data.game.command.CommandParser;
 import com.github.steveice10.mc.protocol.packet.ingame.server.ServerDeclareCommandsPacket;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.nukkitx.protocol.bedrock.data.command.CommandData;
 import com.nukkitx.protocol.bedrock.data.command.CommandEnumData;
 import com.nukkitx.protocol.bedrock.data.command.CommandParamData;
@@ -35,19 +37,33 @@ import com.nukkitx.protocol.bedrock.data.command.CommandParamType;
 import com.nukkitx.protocol.bedrock.packet.AvailableCommandsPacket;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.command.CommandManager;
 import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.network.translators.PacketTranslator;
 import org.geysermc.connector.network.translators.Translator;
+import org.geysermc.connector.utils.ContentHash;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Translator(packet = ServerDeclareCommandsPacket.class)
 public class JavaDeclareCommandsTranslator extends PacketTranslator<ServerDeclareCommandsPacket> {
+
+    // Translated commands by command tree. Players with the same permissions on the same server get the same tree
+    private static final Cache<Key, List<CommandData>> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(64)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
     @Override
     public void translate(ServerDeclareCommandsPacket packet, GeyserSession session) {
         // Don't send command suggestions if they are disabled
@@ -55,8 +71,55 @@ public class JavaDeclareCommandsTranslator extends PacketTranslator<ServerDeclar
             session.getConnector().getLogger().debug("Not sending command suggestions as they are disabled.");
             return;
         }
+
+        CommandManager commandManager = session.getConnector().getCommandManager();
+        Key key = keyOf(packet, commandManager);
+        List<CommandData> commandData = CACHE.getIfPresent(key);
+        if (commandData == null) {
+            commandData = translateCommands(packet, commandManager);
+            CACHE.put(key, commandData);
+        }
+
+        // Add our commands to the AvailableCommandsPacket for the bedrock client
+        AvailableCommandsPacket availableCommandsPacket = new AvailableCommandsPacket();
+        availableCommandsPacket.getCommands().addAll(commandData);
+
+        GeyserConnector.getInstance().getLogger().debug("Sending command packet of " + commandData.size() + " commands");
+
+        // Finally, send the commands to the client
+        session.sendUpstreamPacket(availableCommandsPacket);
+    }
+
+    /**
+     * Create the cache key of a command tree. Only the parts of the nodes used by the translation are hashed.
+     *
+     * @param packet the Java commands
+     * @param commandManager where the command descriptions come from
+     * @return the key
+     */
+    private Key keyOf(ServerDeclareCommandsPacket packet, CommandManager commandManager) {
+        ContentHash hash = new ContentHash();
+        hash.add(packet.getFirstNodeIndex());
+
+        CommandNode[] nodes = packet.getNodes();
+        hash.add(nodes.length);
+        for (CommandNode node : nodes) {
+            hash.add(node.getName() != null ? node.getName() : "");
+            hash.add(node.getParser() != null ? node.getParser().ordinal() : -1);
+            hash.add(node.getRedirectIndex());
+            hash.add(node.getChildIndices().length);
+            for (int childIndex : node.getChildIndices()) {
+                hash.add(childIndex);
+            }
+        }
+
+        return new Key(commandManager, hash.finish1(), hash.finish2());
+    }
+
+    private List<CommandData> translateCommands(ServerDeclareCommandsPacket packet, CommandManager commandManager) {
         List<CommandData> commandData = new ArrayList<>();
         Int2ObjectMap<String> commands = new Int2ObjectOpenHashMap<>();
+        Set<String> commandNames = new HashSet<>();
         Int2ObjectMap<List<CommandNode>> commandArgs = new Int2ObjectOpenHashMap<>();
 
         // Get the first node, it should be a root node
@@ -68,7 +131,7 @@ public class JavaDeclareCommandsTranslator extends PacketTranslator<ServerDeclar
 
             // Make sure we don't have duplicated commands (happens if there is more than 1 root node)
             if (commands.containsKey(nodeIndex)) { continue; }
-            if (commands.containsValue(node.getName())) { continue; }
+            if (!commandNames.add(node.getName())) { continue; }
 
             // Get and update the commandArgs list with the found arguments
             if (node.getChildIndices().length >= 1) {
@@ -96,20 +159,11 @@ public class JavaDeclareCommandsTranslator extends PacketTranslator<ServerDeclar
             CommandParamData[][] params = getParams(packet.getNodes()[commandID], packet.getNodes());
 
             // Build the completed command and add it to the final list
-            CommandData data = new CommandData(commandName, session.getConnector().getCommandManager().getDescription(commandName), flags, (byte) 0, aliases, params);
+            CommandData data = new CommandData(commandName, commandManager.getDescription(commandName), flags, (byte) 0, aliases, params);
             commandData.add(data);
         }
 
-        // Add our commands to the AvailableCommandsPacket for the bedrock client
-        AvailableCommandsPacket availableCommandsPacket = new AvailableCommandsPacket();
-        for (CommandData data : commandData) {
-            availableCommandsPacket.getCommands().add(data);
-        }
-
-        GeyserConnector.getInstance().getLogger().debug("Sending command packet of " + commandData.size() + " commands");
-
-        // Finally, send the commands to the client
-        session.sendUpstreamPacket(availableCommandsPacket);
+        return Collections.unmodifiableList(commandData);
     }
 
     /**
@@ -225,6 +279,15 @@ public class JavaDeclareCommandsTranslator extends PacketTranslator<ServerDeclar
         }
     }
 
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        // Compared by identity, so a reloaded command manager doesn't reuse old descriptions
+        private final CommandManager commandManager;
+        private final long hash1;
+        private final long hash2;
+    }
+
     @Getter
     private class ParamInfo {
         private CommandNode paramNode;
@@ -28,6 +28,7 @@ package org.geysermc.connector.network.translators.java.scoreboard;
 import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.network.translators.PacketTranslator;
 import org.geysermc.connector.network.translators.Translator;
+import org.geysermc.connector.scoreboard.Scoreboard;
 
 import com.github.steveice10.mc.protocol.packet.ingame.server.scoreboard.ServerDisplayScoreboardPacket;
 
@@ -36,8 +37,8 @@ public class JavaDisplayScoreboardTranslator extends PacketTranslator<ServerDisp
 
     @Override
     public void translate(ServerDisplayScoreboardPacket packet, GeyserSession session) {
-        session.getScoreboardCache().getScoreboard().registerNewObjective(
-                packet.getName(), packet.getPosition()
-        );
+        Scoreboard scoreboard = session.getScoreboardCache().getScoreboard();
+        scoreboard.registerNewObjective(packet.getName(), packet.getPosition());
+        scoreboard.onUpdate();
     }
 }
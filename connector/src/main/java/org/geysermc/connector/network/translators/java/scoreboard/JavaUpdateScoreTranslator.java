@@ -44,27 +44,29 @@ public class JavaUpdateScoreTranslator extends PacketTranslator<ServerUpdateScor
         try {
             Scoreboard scoreboard = session.getScoreboardCache().getScoreboard();
 
-            Objective objective = scoreboard.getObjective(packet.getObjective());
-            if (objective == null && packet.getAction() != ScoreboardAction.REMOVE) {
-                GeyserConnector.getInstance().getLogger().info(LanguageUtils.getLocaleStringLog("geyser.network.translator.score.failed_objective", packet.getObjective()));
-                return;
-            }
+            synchronized (scoreboard) {
+                Objective objective = scoreboard.getObjective(packet.getObjective());
+                if (objective == null && packet.getAction() != ScoreboardAction.REMOVE) {
+                    GeyserConnector.getInstance().getLogger().info(LanguageUtils.getLocaleStringLog("geyser.network.translator.score.failed_objective", packet.getObjective()));
+                    return;
+                }
 
-            switch (packet.getAction()) {
-                case ADD_OR_UPDATE:
-                    objective.setScore(packet.getEntry(), packet.getValue());
-                    break;
-                case REMOVE:
-                    if (objective != null) {
-                        objective.resetScore(packet.getEntry());
-                    } else {
-                        for (Objective objective1 : scoreboard.getObjectives().values()) {
-                            objective1.resetScore(packet.getEntry());
+                switch (packet.getAction()) {
+                    case ADD_OR_UPDATE:
+                        objective.setScore(packet.getEntry(), packet.getValue());
+                        break;
+                    case REMOVE:
+                        if (objective != null) {
+                            objective.resetScore(packet.getEntry());
+                        } else {
+                            for (Objective objective1 : scoreboard.getObjectives().values()) {
+                                objective1.resetScore(packet.getEntry());
+                            }
                         }
-                    }
-                    break;
+                        break;
+                }
+                scoreboard.onUpdate();
             }
-            scoreboard.onUpdate();
         } catch (Exception ex) {
             ex.printStackTrace();
         }
@@ -29,7 +29,6 @@ import com.github.steveice10.mc.protocol.packet.ingame.server.window.ServerClose
 import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.network.translators.PacketTranslator;
 import org.geysermc.connector.network.translators.Translator;
-import org.geysermc.connector.network.translators.inventory.action.Transaction;
 import org.geysermc.connector.utils.InventoryUtils;
 
 @Translator(packet = ServerCloseWindowPacket.class)
@@ -37,7 +36,7 @@ public class JavaCloseWindowTranslator extends PacketTranslator<ServerCloseWindo
 
     @Override
     public void translate(ServerCloseWindowPacket packet, GeyserSession session) {
-        Transaction.cancel();
+        session.getTransactionQueue().cancel();
         InventoryUtils.closeWindow(session, packet.getWindowId());
         InventoryUtils.closeInventory(session, packet.getWindowId());
     }
@@ -29,20 +29,12 @@ import com.github.steveice10.mc.protocol.packet.ingame.server.window.ServerConfi
 import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.network.translators.PacketTranslator;
 import org.geysermc.connector.network.translators.Translator;
-import org.geysermc.connector.network.translators.inventory.action.ConfirmAction;
-import org.geysermc.connector.network.translators.inventory.action.Transaction;
 
 @Translator(packet = ServerConfirmTransactionPacket.class)
 public class JavaConfirmTransactionTranslator extends PacketTranslator<ServerConfirmTransactionPacket> {
 
     @Override
     public void translate(ServerConfirmTransactionPacket packet, GeyserSession session) {
-        Transaction transaction = Transaction.CURRENT_TRANSACTION;
-        if (transaction == null || !(transaction.getCurrentAction() instanceof ConfirmAction)) {
-            return;
-        }
-
-        // If we have a transaction and its a ConfirmAction we confirm it
-        ((ConfirmAction) transaction.getCurrentAction()).confirm(packet.getActionId(), packet.isAccepted());
+        session.getTransactionQueue().confirm(packet.getWindowId(), packet.getActionId(), packet.isAccepted());
     }
 }
@@ -37,7 +37,6 @@ import org.geysermc.connector.network.translators.PacketTranslator;
 import org.geysermc.connector.network.translators.Translator;
 import org.geysermc.connector.network.translators.inventory.InventoryTranslator;
 import org.geysermc.connector.network.translators.inventory.action.Execute;
-import org.geysermc.connector.network.translators.inventory.action.Transaction;
 import org.geysermc.connector.utils.InventoryUtils;
 
 @Translator(packet = ServerOpenWindowPacket.class)
@@ -45,7 +44,7 @@ public class JavaOpenWindowTranslator extends PacketTranslator<ServerOpenWindowP
 
     @Override
     public void translate(ServerOpenWindowPacket packet, GeyserSession session) {
-        Transaction.cancel();
+        session.getTransactionQueue().cancel();
         if (packet.getWindowId() == 0) {
             return;
         }
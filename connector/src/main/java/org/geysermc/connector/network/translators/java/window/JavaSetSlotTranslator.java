@@ -31,7 +31,6 @@ import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.network.translators.PacketTranslator;
 import org.geysermc.connector.network.translators.inventory.InventoryTranslator;
 import org.geysermc.connector.network.translators.Translator;
-import org.geysermc.connector.network.translators.inventory.action.Transaction;
 import org.geysermc.connector.utils.InventoryUtils;
 
 import java.util.Objects;
@@ -43,7 +42,7 @@ public class JavaSetSlotTranslator extends PacketTranslator<ServerSetSlotPacket>
     public void translate(ServerSetSlotPacket packet, GeyserSession session) {
         if (packet.getWindowId() == 255 && packet.getSlot() == -1) { //cursor
             session.getInventory().setCursor(packet.getItem());
-            if (Transaction.CURRENT_TRANSACTION == null) {
+            if (session.getTransactionQueue().getCurrentTransaction() == null) {
                 InventoryUtils.updateCursor(session);
             }
             return;
@@ -56,7 +55,7 @@ public class JavaSetSlotTranslator extends PacketTranslator<ServerSetSlotPacket>
         InventoryTranslator translator = InventoryTranslator.INVENTORY_TRANSLATORS.get(inventory.getWindowType());
         if (translator != null) {
             inventory.setItem(packet.getSlot(), packet.getItem());
-            if (Transaction.CURRENT_TRANSACTION == null) {
+            if (session.getTransactionQueue().getCurrentTransaction() == null) {
                 translator.updateSlot(session, inventory, packet.getSlot());
             }
         }
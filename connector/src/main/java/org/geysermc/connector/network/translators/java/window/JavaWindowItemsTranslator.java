@@ -31,7 +31,6 @@ import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.network.translators.PacketTranslator;
 import org.geysermc.connector.network.translators.Translator;
 import org.geysermc.connector.network.translators.inventory.InventoryTranslator;
-import org.geysermc.connector.network.translators.inventory.action.Transaction;
 
 import java.util.Arrays;
 
@@ -51,7 +50,7 @@ public class JavaWindowItemsTranslator extends PacketTranslator<ServerWindowItem
         }
 
         // If we have no pending transaction then we will also do an update
-        if (Transaction.CURRENT_TRANSACTION == null) {
+        if (session.getTransactionQueue().getCurrentTransaction() == null) {
             InventoryTranslator translator = InventoryTranslator.INVENTORY_TRANSLATORS.get(inventory.getWindowType());
             if (translator != null) {
                 translator.updateInventory(session, inventory);
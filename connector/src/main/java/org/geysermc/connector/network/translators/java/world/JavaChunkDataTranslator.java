@@ -44,6 +44,8 @@ import org.geysermc.connector.network.translators.PacketTranslator;
 import org.geysermc.connector.network.translators.Translator;
 import org.geysermc.connector.utils.ChunkUtils;
 import org.geysermc.connector.network.translators.world.chunk.ChunkSection;
+import org.geysermc.connector.network.translators.world.chunk.ChunkTranslationCache;
+import org.geysermc.connector.network.translators.world.chunk.TranslatedChunk;
 
 @Translator(packet = ServerChunkDataPacket.class)
 public class JavaChunkDataTranslator extends PacketTranslator<ServerChunkDataPacket> {
@@ -59,8 +61,16 @@ public class JavaChunkDataTranslator extends PacketTranslator<ServerChunkDataPac
 
         GeyserConnector.getInstance().getGeneralThreadPool().execute(() -> {
             try {
+                ChunkTranslationCache.Key cacheKey = ChunkTranslationCache.keyOf(packet.getColumn());
+                TranslatedChunk cachedChunk = ChunkTranslationCache.get(cacheKey);
+                if (cachedChunk != null) {
+                    sendChunk(session, packet, cachedChunk);
+                    ChunkUtils.spawnCustomSkulls(session, packet.getColumn());
+                    session.getChunkCache().addToCache(packet.getColumn());
+                    return;
+                }
+
                 ChunkUtils.ChunkData chunkData = ChunkUtils.translateToBedrock(packet.getColumn(), session);
-                ByteBuf byteBuf = Unpooled.buffer(32);
                 ChunkSection[] sections = chunkData.sections;
 
                 int sectionCount = sections.length - 1;
@@ -69,14 +79,18 @@ public class JavaChunkDataTranslator extends PacketTranslator<ServerChunkDataPac
                 }
                 sectionCount++;
 
+                // Every section and the biomes are a separate blob that Bedrock clients can cache
+                byte[][] blobs = new byte[sectionCount + 1][];
+                ByteBuf sectionBuf = Unpooled.buffer(4096);
                 for (int i = 0; i < sectionCount; i++) {
-                    ChunkSection section = chunkData.sections[i];
-                    section.writeToNetwork(byteBuf);
+                    sectionBuf.clear();
+                    sections[i].writeToNetwork(sectionBuf);
+                    blobs[i] = new byte[sectionBuf.readableBytes()];
+                    sectionBuf.readBytes(blobs[i]);
                 }
+                blobs[sectionCount] = BiomeTranslator.toBedrockBiome(packet.getColumn().getBiomeData()); // Biomes - 256 bytes
 
-                byte[] bedrockBiome = BiomeTranslator.toBedrockBiome(packet.getColumn().getBiomeData());
-
-                byteBuf.writeBytes(bedrockBiome); // Biomes - 256 bytes
+                ByteBuf byteBuf = Unpooled.buffer(32);
                 byteBuf.writeByte(0); // Border blocks - Edu edition only
                 VarInts.writeUnsignedInt(byteBuf, 0); // extra data length, 0 for now
 
@@ -88,16 +102,14 @@ public class JavaChunkDataTranslator extends PacketTranslator<ServerChunkDataPac
 
                 byteBuf.writeBytes(stream.buffer());
 
-                byte[] payload = new byte[byteBuf.writerIndex()];
-                byteBuf.readBytes(payload);
+                byte[] extraData = new byte[byteBuf.writerIndex()];
+                byteBuf.readBytes(extraData);
 
-                LevelChunkPacket levelChunkPacket = new LevelChunkPacket();
-                levelChunkPacket.setSubChunksLength(sectionCount);
-                levelChunkPacket.setCachingEnabled(false);
-                levelChunkPacket.setChunkX(packet.getColumn().getX());
-                levelChunkPacket.setChunkZ(packet.getColumn().getZ());
-                levelChunkPacket.setData(payload);
-                session.sendUpstreamPacket(levelChunkPacket);
+                TranslatedChunk translatedChunk = new TranslatedChunk(sectionCount, blobs, extraData);
+                if (chunkData.getLoadBlockEntitiesLater().isEmpty()) {
+                    ChunkTranslationCache.put(cacheKey, translatedChunk);
+                }
+                sendChunk(session, packet, translatedChunk);
 
                 // Some block entities need to be loaded in later or else text doesn't show (signs) or they crash the game (end gateway blocks)
                 for (Object2IntMap.Entry<NbtMap> blockEntityEntry : chunkData.getLoadBlockEntitiesLater().object2IntEntrySet()) {
@@ -113,4 +125,25 @@ public class JavaChunkDataTranslator extends PacketTranslator<ServerChunkDataPac
             }
         });
     }
+
+    private void sendChunk(GeyserSession session, ServerChunkDataPacket packet, TranslatedChunk chunk) {
+        LevelChunkPacket levelChunkPacket = new LevelChunkPacket();
+        levelChunkPacket.setSubChunksLength(chunk.getSectionCount());
+        levelChunkPacket.setChunkX(packet.getColumn().getX());
+        levelChunkPacket.setChunkZ(packet.getColumn().getZ());
+
+        if (session.getBlobCache().isSupported()) {
+            // Only send the blob IDs, the client will ask for the blobs it doesn't have
+            levelChunkPacket.setCachingEnabled(true);
+            for (long blobId : chunk.getBlobIds()) {
+                levelChunkPacket.getBlobIds().add(blobId);
+            }
+            levelChunkPacket.setData(chunk.getExtraData());
+            session.getBlobCache().addPendingBlobs(chunk);
+        } else {
+            levelChunkPacket.setCachingEnabled(false);
+            levelChunkPacket.setData(chunk.getPayload());
+        }
+        session.sendUpstreamPacket(levelChunkPacket);
+    }
 }
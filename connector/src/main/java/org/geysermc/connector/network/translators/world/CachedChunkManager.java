@@ -26,13 +26,12 @@
 
 package org.geysermc.connector.network.translators.world;
 
-import com.github.steveice10.mc.protocol.data.game.entity.metadata.Position;
 import org.geysermc.connector.network.session.GeyserSession;
 
 public class CachedChunkManager extends WorldManager {
 
     @Override
     public int getBlockAt(GeyserSession session, int x, int y, int z) {
-        return session.getChunkCache().getBlockAt(new Position(x, y, z));
+        return session.getChunkCache().getBlockAt(x, y, z);
     }
 }
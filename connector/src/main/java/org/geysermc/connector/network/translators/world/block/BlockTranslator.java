@@ -80,6 +80,15 @@ public class BlockTranslator {
 
     public static final int BLOCK_STATE_VERSION = 17825806;
 
+    // Flat copies of the maps above indexed by Java runtime ID, as Java runtime IDs are dense from 0
+    private static int[] JAVA_TO_BEDROCK_BLOCK_IDS = new int[0];
+    private static String[] JAVA_BLOCK_ENTITY_STRINGS = new String[0];
+    private static double[] JAVA_BLOCK_HARDNESS = new double[0];
+    private static byte[] JAVA_BLOCK_FLAGS = new byte[0];
+
+    private static final byte FLAG_WATERLOGGED = 1;
+    private static final byte FLAG_BEDROCK_BLOCK_ENTITY = 1 << 1;
+
     public static Register REGISTER = new Register();
     private static Shim SHIM;
 
@@ -292,6 +301,38 @@ public class BlockTranslator {
         }
 
         BLOCKS = new NbtList<>(NbtType.COMPOUND, paletteList);
+
+        buildLookupTables(javaRuntimeId + 1);
+    }
+
+    /**
+     * Build the flat lookup tables once all the block maps have been filled
+     *
+     * @param javaBlockCount the number of Java block states
+     */
+    private static void buildLookupTables(int javaBlockCount) {
+        int[] javaToBedrockBlockIds = new int[javaBlockCount];
+        String[] blockEntityStrings = new String[javaBlockCount];
+        double[] hardness = new double[javaBlockCount];
+        byte[] flags = new byte[javaBlockCount];
+
+        for (int javaId = 0; javaId < javaBlockCount; javaId++) {
+            javaToBedrockBlockIds[javaId] = JAVA_TO_BEDROCK_BLOCK_MAP.get(javaId);
+            blockEntityStrings[javaId] = JAVA_ID_TO_BLOCK_ENTITY_MAP.get(javaId);
+            hardness[javaId] = JAVA_RUNTIME_ID_TO_HARDNESS.get(javaId);
+
+            if (WATERLOGGED.contains(javaId)) {
+                flags[javaId] |= FLAG_WATERLOGGED;
+            }
+            if (BlockStateValues.getFlowerPotValues().containsKey(javaId) || BlockStateValues.getPistonValues().containsKey(javaId)) {
+                flags[javaId] |= FLAG_BEDROCK_BLOCK_ENTITY;
+            }
+        }
+
+        JAVA_TO_BEDROCK_BLOCK_IDS = javaToBedrockBlockIds;
+        JAVA_BLOCK_ENTITY_STRINGS = blockEntityStrings;
+        JAVA_BLOCK_HARDNESS = hardness;
+        JAVA_BLOCK_FLAGS = flags;
     }
 
     private BlockTranslator() {
@@ -334,7 +375,8 @@ public class BlockTranslator {
     }
 
     public static int getBedrockBlockId(int state) {
-        return JAVA_TO_BEDROCK_BLOCK_MAP.get(state);
+        int[] ids = JAVA_TO_BEDROCK_BLOCK_IDS;
+        return state >= 0 && state < ids.length ? ids[state] : 0;
     }
 
     public static int getJavaBlockState(int bedrockId) {
@@ -358,11 +400,32 @@ public class BlockTranslator {
     }
 
     public static String getBlockEntityString(int javaId) {
-        return JAVA_ID_TO_BLOCK_ENTITY_MAP.get(javaId);
+        String[] strings = JAVA_BLOCK_ENTITY_STRINGS;
+        return javaId >= 0 && javaId < strings.length ? strings[javaId] : null;
     }
 
     public static boolean isWaterlogged(int state) {
-        return WATERLOGGED.contains(state);
+        return (getBlockFlags(state) & FLAG_WATERLOGGED) != 0;
+    }
+
+    /**
+     * Whether a Java block state is only a block entity on Bedrock, such as flower pots and pistons
+     *
+     * @param state the Java block state
+     * @return true if a Bedrock-only block entity needs to be sent for the block
+     */
+    public static boolean isBedrockBlockEntity(int state) {
+        return (getBlockFlags(state) & FLAG_BEDROCK_BLOCK_ENTITY) != 0;
+    }
+
+    public static double getBlockHardness(int state) {
+        double[] hardness = JAVA_BLOCK_HARDNESS;
+        return state >= 0 && state < hardness.length ? hardness[state] : 0;
+    }
+
+    private static byte getBlockFlags(int state) {
+        byte[] flags = JAVA_BLOCK_FLAGS;
+        return state >= 0 && state < flags.length ? flags[state] : 0;
     }
 
     public static BiMap<String, Integer> getJavaIdBlockMap() {
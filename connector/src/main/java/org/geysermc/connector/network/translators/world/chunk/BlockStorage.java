@@ -74,6 +74,17 @@ public class BlockStorage {
         this.bitArray.set(index, idx);
     }
 
+    /**
+     * Set a block to an index of the palette returned by {@link #idFor(int)}. Unlike
+     * {@link #setFullBlock(int, int)} this does not search the palette.
+     *
+     * @param index the block position
+     * @param paletteIndex the palette index
+     */
+    public synchronized void setPaletteIndex(int index, int paletteIndex) {
+        this.bitArray.set(index, paletteIndex);
+    }
+
     public synchronized void writeToNetwork(ByteBuf buffer) {
         buffer.writeByte(getPaletteHeader(bitArray.getVersion(), true));
 
@@ -94,7 +105,14 @@ public class BlockStorage {
         this.bitArray = newBitArray;
     }
 
-    private int idFor(int runtimeId) {
+    /**
+     * Get the palette index of a runtime ID, adding it to the palette if needed.
+     * Palette indexes stay valid when the palette grows.
+     *
+     * @param runtimeId the Bedrock runtime ID
+     * @return the palette index
+     */
+    public synchronized int idFor(int runtimeId) {
         int index = this.palette.indexOf(runtimeId);
         if (index != -1) {
             return index;
@@ -112,6 +130,13 @@ public class BlockStorage {
         return index;
     }
 
+    /**
+     * @return an estimate of the memory used by this storage, in bytes
+     */
+    public synchronized int getMemoryUsage() {
+        return 64 + this.bitArray.getWords().length * 4 + this.palette.size() * 4;
+    }
+
     public boolean isEmpty() {
         if (this.palette.size() == 1) {
             return true;
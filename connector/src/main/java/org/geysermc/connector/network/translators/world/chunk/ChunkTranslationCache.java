@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ *
+ *  @author GeyserMC
+ *  @link https://github.com/GeyserMC/Geyser
+ *
+ */
+
+package org.geysermc.connector.network.translators.world.chunk;
+
+import com.github.steveice10.mc.protocol.data.game.chunk.Chunk;
+import com.github.steveice10.mc.protocol.data.game.chunk.Column;
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.metrics.StatsProvider;
+import org.geysermc.connector.utils.ContentHash;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of translated Bedrock chunk payloads shared by all sessions.
+ *
+ * Entries are keyed by the position of the column and a 128 bit hash of its Java contents, so players receiving the
+ * same column only have it translated once. The cache is limited by the total size of the payloads it holds.
+ */
+public class ChunkTranslationCache {
+
+    // Approximate memory used by an entry apart from its payload
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private static Cache<Key, TranslatedChunk> CACHE;
+
+    public static final StatsProvider STATS = new Stats();
+
+    public static void init() {
+        long maxBytes = GeyserConnector.getInstance().getConfig().getChunkTranslationCacheSize() * 1024L * 1024L;
+        if (maxBytes <= 0) {
+            CACHE = null;
+            return;
+        }
+
+        CACHE = CacheBuilder.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, TranslatedChunk chunk) -> chunk.getSize() + ENTRY_OVERHEAD)
+                .recordStats()
+                .build();
+    }
+
+    public static boolean isEnabled() {
+        return CACHE != null;
+    }
+
+    /**
+     * Create the key of a column
+     *
+     * @param column Java column
+     * @return the key or null if the cache is disabled
+     */
+    public static Key keyOf(Column column) {
+        if (CACHE == null) {
+            return null;
+        }
+
+        ContentHash hash = new ContentHash();
+        for (Chunk chunk : column.getChunks()) {
+            hash.add(chunk);
+        }
+
+        int[] biomes = column.getBiomeData();
+        hash.add(biomes.length);
+        for (int biome : biomes) {
+            hash.add(biome);
+        }
+
+        CompoundTag[] tileEntities = column.getTileEntities();
+        hash.add(tileEntities.length);
+        for (CompoundTag tag : tileEntities) {
+            hash.add(tag);
+        }
+
+        return new Key(column.getX(), column.getZ(), hash.finish1(), hash.finish2());
+    }
+
+    /**
+     * Return the cached translation of a column
+     *
+     * @param key the key from {@link #keyOf(Column)}
+     * @return the cached chunk or null if there is none
+     */
+    public static TranslatedChunk get(Key key) {
+        if (CACHE == null || key == null) {
+            return null;
+        }
+        return CACHE.getIfPresent(key);
+    }
+
+    public static void put(Key key, TranslatedChunk chunk) {
+        if (CACHE != null && key != null) {
+            CACHE.put(key, chunk);
+        }
+    }
+
+    /**
+     * Return the hit and miss statistics of the cache
+     */
+    public static CacheStats getStats() {
+        return CACHE != null ? CACHE.stats() : new CacheStats(0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Return the number of translated chunks held
+     */
+    public static long size() {
+        return CACHE != null ? CACHE.size() : 0;
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    public static class Key {
+        private final int x;
+        private final int z;
+        private final long hash1;
+        private final long hash2;
+    }
+
+    private static class Stats implements StatsProvider {
+
+        @Override
+        public String getName() {
+            return "chunkTranslationCache";
+        }
+
+        @Override
+        public String getSummary() {
+            if (!isEnabled()) {
+                return null;
+            }
+            CacheStats stats = ChunkTranslationCache.getStats();
+            return String.format("Chunk translation cache: %d chunks, %.1f%% hit rate, %d hits, %d misses, %d evictions",
+                    size(), stats.hitRate() * 100, stats.hitCount(), stats.missCount(), stats.evictionCount());
+        }
+
+        @Override
+        public Map<String, Object> getStats() {
+            CacheStats stats = ChunkTranslationCache.getStats();
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("enabled", isEnabled());
+            info.put("size", size());
+            info.put("hits", stats.hitCount());
+            info.put("misses", stats.missCount());
+            info.put("hitRate", stats.hitRate());
+            info.put("evictions", stats.evictionCount());
+            return info;
+        }
+    }
+}
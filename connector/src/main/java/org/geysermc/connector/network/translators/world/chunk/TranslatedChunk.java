@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ *
+ *  @author GeyserMC
+ *  @link https://github.com/GeyserMC/Geyser
+ *
+ */
+
+package org.geysermc.connector.network.translators.world.chunk;
+
+import lombok.Getter;
+import org.geysermc.connector.utils.HashUtils;
+
+/**
+ * A column translated to Bedrock, split into the blobs Bedrock clients are able to cache (one per sub chunk followed
+ * by the biomes) and the extra data that follows them. Instances may be shared between sessions and must not be
+ * modified.
+ */
+public class TranslatedChunk {
+
+    @Getter
+    private final int sectionCount;
+
+    private final byte[][] blobs;
+
+    @Getter
+    private final byte[] extraData;
+
+    private volatile long[] blobIds;
+
+    private volatile byte[] payload;
+
+    public TranslatedChunk(int sectionCount, byte[][] blobs, byte[] extraData) {
+        this.sectionCount = sectionCount;
+        this.blobs = blobs;
+        this.extraData = extraData;
+    }
+
+    public byte[] getBlob(int index) {
+        return blobs[index];
+    }
+
+    public int getBlobCount() {
+        return blobs.length;
+    }
+
+    /**
+     * Get the blob IDs of this chunk, hashing the blobs the first time it is called
+     *
+     * @return the blob IDs in the same order as the blobs
+     */
+    public long[] getBlobIds() {
+        long[] ids = blobIds;
+        if (ids == null) {
+            ids = new long[blobs.length];
+            for (int i = 0; i < blobs.length; i++) {
+                ids[i] = HashUtils.xxHash64(blobs[i]);
+            }
+            blobIds = ids;
+        }
+        return ids;
+    }
+
+    /**
+     * Get the full payload of this chunk for clients that don't use the blob cache, combining the blobs the first
+     * time it is called. The returned array is shared and must not be modified.
+     *
+     * @return the blobs followed by the extra data
+     */
+    public byte[] getPayload() {
+        byte[] data = payload;
+        if (data == null) {
+            data = new byte[getSize()];
+            int offset = 0;
+            for (byte[] blob : blobs) {
+                System.arraycopy(blob, 0, data, offset, blob.length);
+                offset += blob.length;
+            }
+            System.arraycopy(extraData, 0, data, offset, extraData.length);
+            payload = data;
+        }
+        return data;
+    }
+
+    /**
+     * @return the total size in bytes of the blobs and extra data
+     */
+    public int getSize() {
+        int size = extraData.length;
+        for (byte[] blob : blobs) {
+            size += blob.length;
+        }
+        return size;
+    }
+}
@@ -59,6 +59,22 @@ public enum BitArrayVersion {
         throw new IllegalArgumentException("Invalid palette version: " + version);
     }
 
+    /**
+     * Get the smallest version that can store the given value
+     *
+     * @param maxEntryValue the largest palette index that will be stored
+     * @return the smallest fitting version
+     */
+    public static BitArrayVersion forMaxEntryValue(int maxEntryValue) {
+        BitArrayVersion[] versions = values();
+        for (int i = versions.length - 1; i >= 0; i--) {
+            if (versions[i].maxEntryValue >= maxEntryValue) {
+                return versions[i];
+            }
+        }
+        throw new IllegalArgumentException("Palette index too large: " + maxEntryValue);
+    }
+
     public BitArray createPalette(int size) {
         return this.createPalette(size, new int[MathUtils.ceil((float) size / entriesPerWord)]);
     }
@@ -40,7 +40,11 @@ import java.util.*;
 import java.util.regex.Pattern;
 
 public class CollisionTranslator {
-    private static Map<Integer, BlockCollision> collisionMap = new HashMap<>();
+    /**
+     * Collision shapes indexed by Java block state. Null entries have no collision.
+     * The array is filled once in {@link #init()} and never modified afterwards.
+     */
+    private static volatile BlockCollision[] COLLISIONS = new BlockCollision[0];
 
     public static void init() {
         // If chunk caching is off then don't initialize
@@ -72,13 +76,19 @@ public class CollisionTranslator {
         // Map of classes that don't change based on parameters that have already been created
         // BiMap<Class, BlockCollision> instantiatedCollision = HashBiMap.create();
         Map<Class, BlockCollision> instantiatedCollision = new HashMap<>();
+        int blockStateCount = 0;
+        for (int javaId : javaIdBlockMap.values()) {
+            blockStateCount = Math.max(blockStateCount, javaId + 1);
+        }
+        BlockCollision[] collisions = new BlockCollision[blockStateCount];
         for (Map.Entry<String, Integer> entry : javaIdBlockMap.entrySet()) {
             BlockCollision newCollision = instantiateCollision(entry.getKey(), collisionTypes, annotationMap, instantiatedCollision);
             if (newCollision != null) {
                 instantiatedCollision.put(newCollision.getClass(), newCollision);
             }
-            collisionMap.put(entry.getValue(), newCollision);
+            collisions[entry.getValue()] = newCollision;
         }
+        COLLISIONS = collisions;
     }
 
     private static BlockCollision instantiateCollision(String blockID, List<Class> collisionTypes, Map<Class, CollisionRemapper> annotationMap, Map<Class, BlockCollision> instantiatedCollision) {
@@ -144,19 +154,30 @@ public class CollisionTranslator {
         }
     }
 
-    public static BlockCollision getCollision(Integer blockID, int x, int y, int z) {
-        BlockCollision collision = collisionMap.get(blockID);
-        if (collision != null) {
-            collision.setPosition(x, y, z);
-        }
-        return collision;
+    /**
+     * Get the collision shape of a block state
+     *
+     * @param blockId the Java block state
+     * @return the shared collision shape or null if the block has no collision
+     */
+    public static BlockCollision getCollision(int blockId) {
+        BlockCollision[] collisions = COLLISIONS;
+        return blockId >= 0 && blockId < collisions.length ? collisions[blockId] : null;
     }
-    public static BlockCollision getCollisionAt(int x, int y, int z, GeyserSession session) {
+
+    /**
+     * Get the collision shape of the block at a position. The shape holds no position,
+     * so the same coordinates have to be passed to its methods.
+     *
+     * @param session the session of the world
+     * @param x the block's X coordinate
+     * @param y the block's Y coordinate
+     * @param z the block's Z coordinate
+     * @return the shared collision shape or null if the block has no collision
+     */
+    public static BlockCollision getCollisionAt(GeyserSession session, int x, int y, int z) {
         try {
-            return getCollision(
-                    session.getConnector().getWorldManager().getBlockAt(session, x, y, z),
-                    x, y, z
-            );
+            return getCollision(session.getConnector().getWorldManager().getBlockAt(session, x, y, z));
         } catch (ArrayIndexOutOfBoundsException e) {
             // Block out of world
             return null;
@@ -26,40 +26,31 @@
 
 package org.geysermc.connector.network.translators.world.collision.translators;
 
-import com.nukkitx.math.vector.Vector3d;
 import lombok.EqualsAndHashCode;
 import org.geysermc.connector.entity.PlayerEntity;
 import org.geysermc.connector.utils.BoundingBox;
-import org.geysermc.connector.utils.MathUtils;
 
+/**
+ * The collision shape of a block state. Shapes are shared by every block with the same state in every session,
+ * so they hold no position and must not be modified once created: the position of the block is passed to each query.
+ */
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class BlockCollision {
+    // Relative to the block's position
     @EqualsAndHashCode.Include
     BoundingBox[] boundingBoxes;
 
-    @EqualsAndHashCode.Include
-    int x;
-    @EqualsAndHashCode.Include
-    int y;
-    @EqualsAndHashCode.Include
-    int z;
-
     // This is used for the step up logic.
     // Usually, the player can only step up a block if they are on the same Y level as its bottom face or higher
     // For snow layers, due to its beforeCorrectPosition method the player can be slightly below (0.125 blocks) and still need to step up
     // Currently only used for snow layers
+    @EqualsAndHashCode.Include
     double pushUpTolerance = 0;
 
-    public void setPosition(int x, int y, int z) {
-        this.x = x;
-        this.y = y;
-        this.z = z;
-    }
-
     // Overridden in classes like SnowCollision when correction code needs to be run before the main correction
-    public void beforeCorrectPosition(BoundingBox playerCollision) {}
+    public void beforeCorrectPosition(int x, int y, int z, BoundingBox playerCollision) {}
 
-    public void correctPosition(BoundingBox playerCollision) {
+    public void correctPosition(int x, int y, int z, BoundingBox playerCollision) {
         double playerMinY = playerCollision.getMiddleY() - (playerCollision.getSizeY() / 2);
         for (BoundingBox b: this.boundingBoxes) {
             double boxMinY = (b.getMiddleY() + y) - (b.getSizeY() / 2);
@@ -94,107 +85,56 @@ public class BlockCollision {
                     System.out.println("Up");
                 } */
 
-                Vector3d oldPlayerPosition = Vector3d.from(playerCollision.getMiddleX(),
-                        playerCollision.getMiddleY(),
-                        playerCollision.getMiddleZ());
-
-                Vector3d relativePlayerPosition = Vector3d.from(playerCollision.getMiddleX() - x,
-                        playerCollision.getMiddleY() - (playerCollision.getSizeY() / 2) - y,
-                        playerCollision.getMiddleZ() - z);
-
-                Vector3d topFacePos = Vector3d.from(b.getMiddleX(),
-                        b.getMiddleY() + (b.getSizeY() / 2),
-                        b.getMiddleZ());
-                double topFaceDistance = MathUtils.taxicabDistance(topFacePos,  relativePlayerPosition);
-
-                Vector3d bottomFacePos = Vector3d.from(b.getMiddleX(),
-                        b.getMiddleY() - (b.getSizeY() / 2),
-                        b.getMiddleZ());
-                double bottomFaceDistance = MathUtils.taxicabDistance(bottomFacePos,  relativePlayerPosition);
-
-                Vector3d northFacePos = Vector3d.from(b.getMiddleX(),
-                        b.getMiddleY(),
-                        b.getMiddleZ() - (b.getSizeZ() / 2));
-                double northFaceDistance = MathUtils.taxicabDistance(northFacePos, relativePlayerPosition);
-
-                Vector3d southFacePos = Vector3d.from(b.getMiddleX(),
-                        b.getMiddleY(),
-                        b.getMiddleZ() + (b.getSizeZ() / 2));
-                double southFaceDistance = MathUtils.taxicabDistance(southFacePos, relativePlayerPosition);
-
-                Vector3d eastFacePos = Vector3d.from(b.getMiddleX()  + (b.getSizeX() / 2),
-                        b.getMiddleY(),
-                        b.getMiddleZ());
-                double eastFaceDistance = MathUtils.taxicabDistance(eastFacePos, relativePlayerPosition);
-
-                Vector3d westFacePos = Vector3d.from(b.getMiddleX()  - (b.getSizeX() / 2),
-                        b.getMiddleY(),
-                        b.getMiddleZ());
-                double westFaceDistance = MathUtils.taxicabDistance(westFacePos, relativePlayerPosition);
-
-                // System.out.println(topFacePos.getY() - relativePlayerPosition.getY());
-                // Unless the player is very close to the top, don't snap them there
-                /* if // (!((topFacePos.getY() - relativePlayerPosition.getY() > 0) && // Positive number (player is below top)
-                ((!   (topFacePos.getY() - relativePlayerPosition.getY() < 0.00001))) { // Player is close to top
-                    // This should never be the lowest number
-                    topFaceDistance = 9999;
-                } */
+                double oldPlayerX = playerCollision.getMiddleX();
+                double oldPlayerY = playerCollision.getMiddleY();
+                double oldPlayerZ = playerCollision.getMiddleZ();
+
+                // Player position relative to the block
+                double relativePlayerX = oldPlayerX - x;
+                double relativePlayerZ = oldPlayerZ - z;
 
-                /* double closestDistance = // Math.min(topFaceDistance,
-                                         // Math.min(bottomFaceDistance,
-                                         Math.min(northFaceDistance,
-                                         Math.min(southFaceDistance,
-                                         Math.min(eastFaceDistance,
-                                                  westFaceDistance))); // ); // ); */
-
-                // System.out.println("Distance: " + closestDistance);
-                /* if (closestDistance == topFaceDistance) {
-                    playerCollision.translate(0, (topFacePos.getY() - relativePlayerPosition.getY()), 0);
-                    System.out.println("Snapped to top");
-                } else if (closestDistance == bottomFaceDistance) {
-                    playerCollision.translate(0, (bottomFacePos.getY() - relativePlayerPosition.getY()) + 0.9, 0);
-                    System.out.println("Snapped to bo
-                    ttom");
-                } else*/
-                double translateDistance = northFacePos.getZ() - relativePlayerPosition.getZ() - (playerCollision.getSizeZ() / 2);
+                double northFaceZ = b.getMiddleZ() - (b.getSizeZ() / 2);
+                double southFaceZ = b.getMiddleZ() + (b.getSizeZ() / 2);
+                double eastFaceX = b.getMiddleX() + (b.getSizeX() / 2);
+                double westFaceX = b.getMiddleX() - (b.getSizeX() / 2);
+
+                double translateDistance = northFaceZ - relativePlayerZ - (playerCollision.getSizeZ() / 2);
                 if (Math.abs(translateDistance) <  PlayerEntity.COLLISION_TOLERANCE * 1.1) {
                     playerCollision.translate(0, 0, translateDistance);
                  //   System.out.println("Snapped to north");
                 }
-                
-                translateDistance = southFacePos.getZ() - relativePlayerPosition.getZ() + (playerCollision.getSizeZ() / 2);
+
+                translateDistance = southFaceZ - relativePlayerZ + (playerCollision.getSizeZ() / 2);
                 if (Math.abs(translateDistance) <  PlayerEntity.COLLISION_TOLERANCE * 1.1) {
                     playerCollision.translate(0, 0, translateDistance);
                   //  System.out.println("Snapped to south");
                 }
 
-                translateDistance = eastFacePos.getX() - relativePlayerPosition.getX() + (playerCollision.getSizeX() / 2);
+                translateDistance = eastFaceX - relativePlayerX + (playerCollision.getSizeX() / 2);
                 if (Math.abs(translateDistance) <  PlayerEntity.COLLISION_TOLERANCE * 1.1) {
                     playerCollision.translate(translateDistance, 0, 0);
                  //   System.out.println("Snapped to east");
                 }
 
-                translateDistance = westFacePos.getX() - relativePlayerPosition.getX() - (playerCollision.getSizeX() / 2);
+                translateDistance = westFaceX - relativePlayerX - (playerCollision.getSizeX() / 2);
                 if (Math.abs(translateDistance) <  PlayerEntity.COLLISION_TOLERANCE * 1.1) {
                     playerCollision.translate(translateDistance, 0, 0);
                 //    System.out.println("Snapped to west");
                 }
 
-                Vector3d newPlayerPosition = Vector3d.from(playerCollision.getMiddleX(),
-                        playerCollision.getMiddleY(),
-                        playerCollision.getMiddleZ());
-
-               // System.out.println("Diff: " + MathUtils.taxicabDistance(oldPlayerPosition, newPlayerPosition));
+                // Taxicab distance moved by the snapping above
+                double movedDistance = Math.abs(playerCollision.getMiddleX() - oldPlayerX)
+                        + Math.abs(playerCollision.getMiddleY() - oldPlayerY)
+                        + Math.abs(playerCollision.getMiddleZ() - oldPlayerZ);
 
-                if (MathUtils.taxicabDistance(oldPlayerPosition, newPlayerPosition) > PlayerEntity.COLLISION_TOLERANCE + 0.1) {
-                    playerCollision.setMiddleX(oldPlayerPosition.getX());
-                    playerCollision.setMiddleY(oldPlayerPosition.getY());
-                    playerCollision.setMiddleZ(oldPlayerPosition.getZ());
+                if (movedDistance > PlayerEntity.COLLISION_TOLERANCE + 0.1) {
+                    playerCollision.setMiddleX(oldPlayerX);
+                    playerCollision.setMiddleY(oldPlayerY);
+                    playerCollision.setMiddleZ(oldPlayerZ);
                 //    System.out.println("Cancelled");
                 }
 
                 //System.out.println(playerCollision.getMiddleX());
-                // playerCollision.setMiddleX(oldPlayerPosition.getX());
             }
             // playerCollision.translate(0, -0.1, 0); // Hack to not check y
             playerCollision.setSizeX(0.6);
@@ -231,7 +171,7 @@ public class BlockCollision {
     }
 
     // USED NOW! CHANGE THIS COMMENT Or not! Currently never used, but will probably be useful in the future
-    public boolean checkIntersection(BoundingBox playerCollision) {
+    public boolean checkIntersection(int x, int y, int z, BoundingBox playerCollision) {
         for (BoundingBox b: boundingBoxes) {
             if (b.checkIntersection(x, y, z, playerCollision)) {
                 return true;
@@ -33,12 +33,13 @@ import java.util.regex.Matcher;
 
 @CollisionRemapper(regex = "^snow$", usesParams = true)
 public class SnowCollision extends BlockCollision {
-    private int layers;
-    private Pattern layersPattern = Pattern.compile("layers=([0-8])");
+    private static final Pattern LAYERS_PATTERN = Pattern.compile("layers=([0-8])");
+
+    private final int layers;
 
     public SnowCollision(String params) {
         super();
-        Matcher matcher = layersPattern.matcher(params);
+        Matcher matcher = LAYERS_PATTERN.matcher(params);
         matcher.find();
 
         // Hitbox is 1 layer less (you sink in 1 layer)
@@ -60,7 +61,7 @@ public class SnowCollision extends BlockCollision {
     // Needs to run before the main correction code or it can move the player into blocks
     // This is counteracted by the main collision code pushing them out
     @Override
-    public void beforeCorrectPosition(BoundingBox playerCollision) {
+    public void beforeCorrectPosition(int x, int y, int z, BoundingBox playerCollision) {
         // In Bedrock, snow layers round down to half blocks but you can't sink into them at all
         // This means the collision each half block reaches above where it should be on Java so the player has to be pushed down
         if (layers == 4 || layers == 8) {
@@ -38,8 +38,8 @@ import org.geysermc.connector.plugin.GeyserPlugin;
 public class PluginLambdaEventHandler<T extends GeyserEvent> extends LambdaEventHandler<T> {
     private final GeyserPlugin plugin;
 
-    public PluginLambdaEventHandler(GeyserPlugin plugin, Class<T> cls, Runnable<T> runnable, int priority, boolean ignoreCancelled) {
-        super(plugin.getEventManager(), cls, runnable, priority, ignoreCancelled);
+    public PluginLambdaEventHandler(GeyserPlugin plugin, Class<T> cls, Runnable<T> runnable, int priority, boolean ignoreCancelled, boolean async, boolean runInlineWhenFull) {
+        super(plugin.getEventManager(), cls, runnable, priority, ignoreCancelled, async, runInlineWhenFull);
 
         this.plugin = plugin;
     }
@@ -62,7 +62,7 @@ public class PluginLambdaEventHandler<T extends GeyserEvent> extends LambdaEvent
 
         @Override
         public LambdaEventHandler<T> build() {
-            LambdaEventHandler<T> handler = new PluginLambdaEventHandler<>(plugin, getCls(), getRunnable(), getPriority(), isIgnoreCancelled());
+            LambdaEventHandler<T> handler = new PluginLambdaEventHandler<>(plugin, getCls(), getRunnable(), getPriority(), isIgnoreCancelled(), isAsync(), isRunInlineWhenFull());
             plugin.register(handler);
             return handler;
         }
@@ -27,10 +27,12 @@ package org.geysermc.connector.scoreboard;
 
 import com.github.steveice10.mc.protocol.data.game.scoreboard.ScoreboardPosition;
 import lombok.Getter;
-import lombok.Setter;
+
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 @Getter
 public class Objective {
@@ -38,7 +40,6 @@ public class Objective {
     private long id;
     private boolean temp;
 
-    @Setter
     private UpdateType updateType = UpdateType.ADD;
     private String objectiveName;
     private String displaySlot;
@@ -46,6 +47,10 @@ public class Objective {
     private int type = 0; // 0 = integer, 1 = heart
 
     private Map<String, Score> scores = new HashMap<>();
+    /**
+     * Scores changed since the last time the scoreboard was sent
+     */
+    private Set<Score> dirtyScores = new ObjectOpenHashSet<>();
 
     private Objective(Scoreboard scoreboard) {
         this.id = scoreboard.getNextId().getAndIncrement();
@@ -81,12 +86,15 @@ public class Objective {
                     .setScore(score)
                     .setTeam(scoreboard.getTeamFor(id));
             scores.put(id, score1);
+            markDirty(score1);
         }
     }
 
     public void setScore(String id, int score) {
-        if (scores.containsKey(id)) {
-            scores.get(id).setScore(score).setUpdateType(UpdateType.ADD);
+        Score existing = scores.get(id);
+        if (existing != null) {
+            existing.setScore(score).setUpdateType(UpdateType.ADD);
+            markDirty(existing);
         } else {
             registerScore(id, score);
         }
@@ -102,6 +110,8 @@ public class Objective {
 
         scores.put(newText, newScore);
         oldScore.setUpdateType(UpdateType.REMOVE);
+        markDirty(newScore);
+        markDirty(oldScore);
     }
 
     public int getScore(String id) {
@@ -119,8 +129,10 @@ public class Objective {
     }
 
     public void resetScore(String id) {
-        if (scores.containsKey(id)) {
-            scores.get(id).setUpdateType(UpdateType.REMOVE);
+        Score score = scores.get(id);
+        if (score != null) {
+            score.setUpdateType(UpdateType.REMOVE);
+            markDirty(score);
         }
     }
 
@@ -128,22 +140,47 @@ public class Objective {
         scores.remove(id);
     }
 
+    /**
+     * Mark a score of this objective as changed so it is sent with the next scoreboard update
+     *
+     * @param score the changed score
+     */
+    public void markDirty(Score score) {
+        dirtyScores.add(score);
+        scoreboard.markDirty(this);
+    }
+
     public Objective setDisplayName(String displayName) {
         this.displayName = displayName;
         if (updateType == UpdateType.NOTHING) updateType = UpdateType.UPDATE;
+        scoreboard.markDirty(this);
         return this;
     }
 
     public Objective setType(int type) {
         this.type = type;
         if (updateType == UpdateType.NOTHING) updateType = UpdateType.UPDATE;
+        scoreboard.markDirty(this);
         return this;
     }
 
+    public void setUpdateType(UpdateType updateType) {
+        this.updateType = updateType;
+        scoreboard.markDirty(this);
+    }
+
+    /**
+     * Reset the update type once the objective has been sent, without marking it as changed again
+     */
+    void resetUpdateType() {
+        this.updateType = UpdateType.NOTHING;
+    }
+
     public void removeTemp(ScoreboardPosition displaySlot) {
         if (temp) {
             temp = false;
             this.displaySlot = displaySlot.name().toLowerCase();
+            scoreboard.markDirty(this);
         }
     }
 }
@@ -37,30 +37,41 @@ import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.utils.LanguageUtils;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.geysermc.connector.scoreboard.UpdateType.*;
 
 @Getter
 public class Scoreboard {
+    // Changes are sent at most once per tick
+    private static final long UPDATE_DELAY = 50;
+
     private GeyserSession session;
     private AtomicLong nextId = new AtomicLong(0);
 
     private Map<String, Objective> objectives = new HashMap<>();
     private Map<String, Team> teams = new HashMap<>();
+    /**
+     * The team of every player in a team
+     */
+    private Map<String, Team> playerTeams = new HashMap<>();
+
+    private final Set<Objective> dirtyObjectives = new ObjectOpenHashSet<>();
+    private boolean updateScheduled = false;
 
     public Scoreboard(GeyserSession session) {
         this.session = session;
     }
 
-    public Objective registerNewObjective(String objectiveId, boolean temp) {
+    public synchronized Objective registerNewObjective(String objectiveId, boolean temp) {
         if (!temp || objectives.containsKey(objectiveId)) return objectives.get(objectiveId);
         Objective objective = new Objective(this, objectiveId);
         objectives.put(objectiveId, objective);
         return objective;
     }
 
-    public Objective registerNewObjective(String objectiveId, ScoreboardPosition displaySlot) {
+    public synchronized Objective registerNewObjective(String objectiveId, ScoreboardPosition displaySlot) {
         Objective objective = null;
         if (objectives.containsKey(objectiveId)) {
             objective = objectives.get(objectiveId);
@@ -73,11 +84,12 @@ public class Scoreboard {
         if (objective == null) {
             objective = new Objective(this, objectiveId, displaySlot, "unknown", 0);
             objectives.put(objectiveId, objective);
+            markDirty(objective);
         }
         return objective;
     }
 
-    public Team registerNewTeam(String teamName, Set<String> players) {
+    public synchronized Team registerNewTeam(String teamName, Set<String> players) {
         if (teams.containsKey(teamName)) {
             session.getConnector().getLogger().info(LanguageUtils.getLocaleStringLog("geyser.network.translator.team.failed_overrides", teamName));
             return getTeam(teamName);
@@ -85,115 +97,117 @@ public class Scoreboard {
 
         Team team = new Team(this, teamName).setEntities(players);
         teams.put(teamName, team);
-
-        for (Objective objective : objectives.values()) {
-            for (Score score : objective.getScores().values()) {
-                if (players.contains(score.getName())) {
-                    score.setTeam(team);
-                }
-            }
-        }
+        addToTeam(team, players);
         return team;
     }
 
-    public Objective getObjective(String objectiveName) {
+    public synchronized Objective getObjective(String objectiveName) {
         return objectives.get(objectiveName);
     }
 
-    public Team getTeam(String teamName) {
+    public synchronized Team getTeam(String teamName) {
         return teams.get(teamName);
     }
 
-    public void unregisterObjective(String objectiveName) {
+    public synchronized void unregisterObjective(String objectiveName) {
         Objective objective = getObjective(objectiveName);
         if (objective != null) objective.setUpdateType(REMOVE);
     }
 
-    public void removeTeam(String teamName) {
+    public synchronized void removeTeam(String teamName) {
         Team remove = teams.remove(teamName);
-        if (remove != null) remove.setUpdateType(REMOVE);
+        if (remove != null) {
+            remove.setUpdateType(REMOVE);
+            removeFromTeam(remove, remove.getEntities());
+        }
     }
 
-    public void onUpdate() {
-        Set<Objective> changedObjectives = new ObjectOpenHashSet<>();
-        List<ScoreInfo> addScores = new ArrayList<>();
-        List<ScoreInfo> removeScores = new ArrayList<>();
-
-        for (String objectiveId : new ArrayList<>(objectives.keySet())) {
-            Objective objective = objectives.get(objectiveId);
-            if (objective.isTemp()) {
-                session.getConnector().getLogger().debug("Ignoring temp Scoreboard Objective '"+ objectiveId +'\'');
-                continue;
-            }
-
-            if (objective.getUpdateType() != NOTHING) changedObjectives.add(objective);
-
-            boolean globalUpdate = objective.getUpdateType() == UPDATE;
-            boolean globalAdd = objective.getUpdateType() == ADD || globalUpdate;
-            boolean globalRemove = objective.getUpdateType() == REMOVE || globalUpdate;
-
-            boolean hasUpdate = globalUpdate;
-
-            List<Score> handledScores = new ArrayList<>();
-            for (String identifier : new ObjectOpenHashSet<>(objective.getScores().keySet())) {
-                Score score = objective.getScores().get(identifier);
-                Team team = score.getTeam();
-
-                boolean inTeam = team != null && team.getEntities().contains(score.getName());
-
-                boolean teamAdd = team != null && (team.getUpdateType() == ADD || team.getUpdateType() == UPDATE);
-                boolean teamRemove = team != null && (team.getUpdateType() == REMOVE || team.getUpdateType() == UPDATE);
+    synchronized void addToTeam(Team team, Collection<String> players) {
+        for (String player : players) {
+            playerTeams.put(player, team);
+        }
+        markDirty(players);
+    }
 
-                if (team != null && (team.getUpdateType() == REMOVE || !inTeam)) score.setTeam(null);
+    synchronized void removeFromTeam(Team team, Collection<String> players) {
+        for (String player : players) {
+            playerTeams.remove(player, team);
+        }
+        markDirty(players);
+    }
 
-                boolean add = (hasUpdate || globalAdd || teamAdd || teamRemove || score.getUpdateType() == ADD || score.getUpdateType() == UPDATE) && (score.getUpdateType() != REMOVE);
-                boolean remove = hasUpdate || globalRemove || teamAdd || teamRemove || score.getUpdateType() == REMOVE || score.getUpdateType() == UPDATE;
+    /**
+     * Mark an objective as changed so it is sent with the next update
+     *
+     * @param objective the changed objective
+     */
+    synchronized void markDirty(Objective objective) {
+        dirtyObjectives.add(objective);
+    }
 
-                boolean updated = false;
-                if (!hasUpdate) {
-                    updated = hasUpdate = add;
+    /**
+     * Mark the scores of the given players as changed in every objective
+     *
+     * @param players the names of the players
+     */
+    synchronized void markDirty(Collection<String> players) {
+        if (players.isEmpty()) {
+            return;
+        }
+        for (Objective objective : objectives.values()) {
+            for (String player : players) {
+                Score score = objective.getScores().get(player);
+                if (score != null) {
+                    objective.markDirty(score);
                 }
+            }
+        }
+    }
 
-                if (updated) {
-                    for (Score score1 : handledScores) {
-                        ScoreInfo scoreInfo = new ScoreInfo(score1.getId(), score1.getObjective().getObjectiveName(), score1.getScore(), score1.getDisplayName());
-                        addScores.add(scoreInfo);
-                        removeScores.add(scoreInfo);
-                    }
-                }
+    /**
+     * Schedule the changes made to this scoreboard to be sent. Changes made in the same tick are sent together.
+     */
+    public synchronized void onUpdate() {
+        if (updateScheduled || dirtyObjectives.isEmpty()) {
+            return;
+        }
+        updateScheduled = true;
+        session.getConnector().getGeneralThreadPool().schedule(this::sendUpdates, UPDATE_DELAY, TimeUnit.MILLISECONDS);
+    }
 
-                if (add) {
-                    addScores.add(new ScoreInfo(score.getId(), score.getObjective().getObjectiveName(), score.getScore(), score.getDisplayName()));
-                }
-                if (remove) {
-                    removeScores.add(new ScoreInfo(score.getId(), score.getObjective().getObjectiveName(), score.getOldScore(), score.getDisplayName()));
-                }
-                score.setOldScore(score.getScore());
+    private synchronized void sendUpdates() {
+        updateScheduled = false;
+        // Don't send anything if the scoreboard was replaced or the session closed in the meantime
+        if (session.isClosed() || session.getScoreboardCache() == null || session.getScoreboardCache().getScoreboard() != this) {
+            return;
+        }
 
-                if (score.getUpdateType() == REMOVE) {
-                    objective.removeScore(score.getName());
-                }
+        List<ScoreInfo> addScores = new ArrayList<>();
+        List<ScoreInfo> removeScores = new ArrayList<>();
 
-                if (add || remove) {
-                    changedObjectives.add(objective);
-                } else { // stays the same like before
-                    handledScores.add(score);
-                }
-                score.setUpdateType(NOTHING);
+        List<Objective> changedObjectives = new ArrayList<>(dirtyObjectives);
+        dirtyObjectives.clear();
+        for (Objective objective : changedObjectives) {
+            if (objective.isTemp()) {
+                // Everything is sent once the objective is displayed
+                session.getConnector().getLogger().debug("Ignoring temp Scoreboard Objective '" + objective.getObjectiveName() + '\'');
+                continue;
             }
-        }
 
-        for (Objective objective : changedObjectives) {
-            boolean update = objective.getUpdateType() == NOTHING || objective.getUpdateType() == UPDATE;
-            if (objective.getUpdateType() == REMOVE || update) {
+            UpdateType updateType = objective.getUpdateType();
+            if (updateType == REMOVE || updateType == UPDATE) {
                 RemoveObjectivePacket removeObjectivePacket = new RemoveObjectivePacket();
                 removeObjectivePacket.setObjectiveId(objective.getObjectiveName());
                 session.sendUpstreamPacket(removeObjectivePacket);
-                if (objective.getUpdateType() == REMOVE) {
-                    objectives.remove(objective.getObjectiveName()); // now we can deregister
+                if (updateType == REMOVE) {
+                    if (objectives.get(objective.getObjectiveName()) == objective) {
+                        objectives.remove(objective.getObjectiveName()); // now we can deregister
+                    }
+                    objective.getDirtyScores().clear();
+                    continue;
                 }
             }
-            if (objective.getUpdateType() == ADD || update) {
+            if (updateType == ADD || updateType == UPDATE) {
                 SetDisplayObjectivePacket displayObjectivePacket = new SetDisplayObjectivePacket();
                 displayObjectivePacket.setObjectiveId(objective.getObjectiveName());
                 displayObjectivePacket.setDisplayName(objective.getDisplayName());
@@ -202,7 +216,30 @@ public class Scoreboard {
                 displayObjectivePacket.setSortOrder(1); // ??
                 session.sendUpstreamPacket(displayObjectivePacket);
             }
-            objective.setUpdateType(NOTHING);
+
+            // A newly displayed objective has no scores on the client yet, otherwise only send what changed
+            boolean sendAll = updateType != NOTHING;
+            Collection<Score> scores = sendAll ? new ArrayList<>(objective.getScores().values()) : objective.getDirtyScores();
+            for (Score score : scores) {
+                score.setTeam(playerTeams.get(score.getName()));
+
+                if (!sendAll) {
+                    removeScores.add(new ScoreInfo(score.getId(), objective.getObjectiveName(), score.getOldScore(), score.getDisplayName()));
+                }
+                if (score.getUpdateType() == REMOVE) {
+                    if (objective.getScores().get(score.getName()) == score) {
+                        objective.removeScore(score.getName());
+                    }
+                } else {
+                    addScores.add(new ScoreInfo(score.getId(), objective.getObjectiveName(), score.getScore(), score.getDisplayName()));
+                }
+
+                score.setOldScore(score.getScore());
+                score.setUpdateType(NOTHING);
+            }
+
+            objective.getDirtyScores().clear();
+            objective.resetUpdateType();
         }
 
         if (!removeScores.isEmpty()) {
@@ -220,11 +257,12 @@ public class Scoreboard {
         }
     }
 
-    public void despawnObjective(Objective objective) {
+    public synchronized void despawnObjective(Objective objective) {
         RemoveObjectivePacket removeObjectivePacket = new RemoveObjectivePacket();
         removeObjectivePacket.setObjectiveId(objective.getObjectiveName());
         session.sendUpstreamPacket(removeObjectivePacket);
         objectives.remove(objective.getDisplayName());
+        dirtyObjectives.remove(objective);
 
         List<ScoreInfo> toRemove = new ArrayList<>();
         for (String identifier : objective.getScores().keySet()) {
@@ -243,12 +281,7 @@ public class Scoreboard {
         }
     }
 
-    public Team getTeamFor(String entity) {
-        for (Team team : teams.values()) {
-            if (team.getEntities().contains(entity)) {
-                return team;
-            }
-        }
-        return null;
+    public synchronized Team getTeamFor(String entity) {
+        return playerTeams.get(entity);
     }
 }
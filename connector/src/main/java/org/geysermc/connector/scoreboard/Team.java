@@ -57,25 +57,31 @@ public class Team {
     public void addEntities(String... names) {
         List<String> added = new ArrayList<>();
         for (String name : names) {
-            if (!entities.contains(name)) {
-                entities.add(name);
+            if (entities.add(name)) {
                 added.add(name);
             }
         }
+        scoreboard.addToTeam(this, added);
         setUpdateType(UpdateType.UPDATE);
-        for (Objective objective : scoreboard.getObjectives().values()) {
-            for (Score score : objective.getScores().values()) {
-                if (added.contains(score.getName())) {
-                    score.setTeam(this);
-                }
-            }
-        }
     }
 
     public void removeEntities(String... names) {
+        List<String> removed = new ArrayList<>();
         for (String name : names) {
-            entities.remove(name);
+            if (entities.remove(name)) {
+                removed.add(name);
+            }
         }
+        scoreboard.removeFromTeam(this, removed);
         setUpdateType(UpdateType.UPDATE);
     }
+
+    public Team setUpdateType(UpdateType updateType) {
+        this.updateType = updateType;
+        if (updateType != UpdateType.NOTHING) {
+            // The display names of the team's scores include the prefix and suffix
+            scoreboard.markDirty(entities);
+        }
+        return this;
+    }
 }
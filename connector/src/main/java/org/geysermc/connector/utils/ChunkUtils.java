@@ -45,11 +45,12 @@ import org.geysermc.connector.GeyserConnector;
 import org.geysermc.connector.entity.Entity;
 import org.geysermc.connector.entity.ItemFrameEntity;
 import org.geysermc.connector.network.session.GeyserSession;
-import org.geysermc.connector.network.translators.world.block.BlockStateValues;
 import org.geysermc.connector.network.translators.world.block.entity.*;
 import org.geysermc.connector.network.translators.world.block.BlockTranslator;
+import org.geysermc.connector.network.translators.world.chunk.BlockStorage;
 import org.geysermc.connector.network.translators.world.chunk.ChunkPosition;
 import org.geysermc.connector.network.translators.world.chunk.ChunkSection;
+import org.geysermc.connector.network.translators.world.chunk.ChunkTranslationCache;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -101,34 +102,52 @@ public class ChunkUtils {
                 continue;
 
             ChunkSection section = chunkData.sections[chunkY];
-            for (int x = 0; x < 16; x++) {
-                for (int y = 0; y < 16; y++) {
-                    for (int z = 0; z < 16; z++) {
-                        int blockState = chunk.get(x, y, z);
-                        int id = BlockTranslator.getBedrockBlockId(blockState);
-
-                        // Check to see if the name is in BlockTranslator.getBlockEntityString, and therefore must be handled differently
-                        if (BlockTranslator.getBlockEntityString(blockState) != null) {
-                            Position pos = new ChunkPosition(column.getX(), column.getZ()).getBlock(x, (chunkY << 4) + y, z);
-                            blockEntityPositions.put(pos, blockState);
+            if (chunk.getStorage().getBitsPerEntry() > 8) {
+                // The global palette is used, which is too large to translate up front
+                for (int x = 0; x < 16; x++) {
+                    for (int y = 0; y < 16; y++) {
+                        for (int z = 0; z < 16; z++) {
+                            int blockState = chunk.get(x, y, z);
+                            int id = BlockTranslator.getBedrockBlockId(blockState);
+                            section.getBlockStorageArray()[0].setFullBlock(ChunkSection.blockPosition(x, y, z), id);
+
+                            if (needsBlockHandling(blockState)) {
+                                handleBlock(column, chunkY, x, y, z, blockState, section, blockEntityPositions, bedrockOnlyBlockEntities);
+                            }
                         }
+                    }
+                }
+                continue;
+            }
 
-                        section.getBlockStorageArray()[0].setFullBlock(ChunkSection.blockPosition(x, y, z), id);
+            // Translate every entry of the Java palette once and remap the palette indexes of the blocks
+            BlockStorage storage = section.getBlockStorageArray()[0];
+            int paletteSize = chunk.getPalette().size();
+            int[] bedrockPalette = new int[paletteSize];
+            boolean[] needsHandling = new boolean[paletteSize];
+            for (int i = 0; i < paletteSize; i++) {
+                int blockState = chunk.getPalette().idToState(i);
+                bedrockPalette[i] = storage.idFor(BlockTranslator.getBedrockBlockId(blockState));
+                needsHandling[i] = needsBlockHandling(blockState);
+            }
 
-                        // Check if block is piston or flower - only block entities in Bedrock
-                        if (BlockStateValues.getFlowerPotValues().containsKey(blockState) ||
-                                BlockStateValues.getPistonValues().containsKey(blockState)) {
-                            Position pos = new ChunkPosition(column.getX(), column.getZ()).getBlock(x, (chunkY << 4) + y, z);
-                            bedrockOnlyBlockEntities.add(BedrockOnlyBlockEntity.getTag(Vector3i.from(pos.getX(), pos.getY(), pos.getZ()), blockState));
-                        }
+            for (int index = 0; index < ChunkSection.SIZE; index++) {
+                int javaId = chunk.getStorage().get(index);
+                // Java indexes are ordered YZX
+                int x = index & 0xF;
+                int y = index >> 8;
+                int z = (index >> 4) & 0xF;
+
+                int paletteIndex = bedrockPalette[javaId];
+                // Storages start filled with the first palette entry
+                if (paletteIndex != 0) {
+                    storage.setPaletteIndex(ChunkSection.blockPosition(x, y, z), paletteIndex);
+                }
 
-                        if (BlockTranslator.isWaterlogged(blockState)) {
-                            section.getBlockStorageArray()[1].setFullBlock(ChunkSection.blockPosition(x, y, z), BEDROCK_WATER_ID);
-                        }
-                    }
+                if (needsHandling[javaId]) {
+                    handleBlock(column, chunkY, x, y, z, chunk.getPalette().idToState(javaId), section, blockEntityPositions, bedrockOnlyBlockEntities);
                 }
             }
-
         }
 
         NbtMap[] bedrockBlockEntities = new NbtMap[blockEntities.length + bedrockOnlyBlockEntities.size()];
@@ -179,6 +198,66 @@ public class ChunkUtils {
         return chunkData;
     }
 
+    /**
+     * Whether a Java block state needs more than its Bedrock runtime ID to be translated
+     */
+    private static boolean needsBlockHandling(int blockState) {
+        return BlockTranslator.getBlockEntityString(blockState) != null || BlockTranslator.isWaterlogged(blockState) ||
+                BlockTranslator.isBedrockBlockEntity(blockState);
+    }
+
+    /**
+     * Handle the block entities and waterlogging of a block
+     */
+    private static void handleBlock(Column column, int chunkY, int x, int y, int z, int blockState, ChunkSection section,
+                                    Object2IntMap<Position> blockEntityPositions, ObjectArrayList<NbtMap> bedrockOnlyBlockEntities) {
+        // Check to see if the name is in BlockTranslator.getBlockEntityString, and therefore must be handled differently
+        if (BlockTranslator.getBlockEntityString(blockState) != null) {
+            Position pos = new ChunkPosition(column.getX(), column.getZ()).getBlock(x, (chunkY << 4) + y, z);
+            blockEntityPositions.put(pos, blockState);
+        }
+
+        // Check if block is piston or flower - only block entities in Bedrock
+        if (BlockTranslator.isBedrockBlockEntity(blockState)) {
+            Position pos = new ChunkPosition(column.getX(), column.getZ()).getBlock(x, (chunkY << 4) + y, z);
+            bedrockOnlyBlockEntities.add(BedrockOnlyBlockEntity.getTag(Vector3i.from(pos.getX(), pos.getY(), pos.getZ()), blockState));
+        }
+
+        if (BlockTranslator.isWaterlogged(blockState)) {
+            section.getBlockStorageArray()[1].setFullBlock(ChunkSection.blockPosition(x, y, z), BEDROCK_WATER_ID);
+        }
+    }
+
+    /**
+     * Spawn the custom skulls of a column for a session. translateToBedrock already does this, so this is only needed
+     * when the translated column came from the {@link ChunkTranslationCache}.
+     *
+     * @param session the session to spawn the skulls for
+     * @param column the Java column
+     */
+    public static void spawnCustomSkulls(GeyserSession session, Column column) {
+        if (!SkullBlockEntityTranslator.ALLOW_CUSTOM_SKULLS) {
+            return;
+        }
+
+        for (CompoundTag tag : column.getTileEntities()) {
+            if (!tag.contains("SkullOwner")) {
+                continue;
+            }
+            CompoundTag owner = tag.get("SkullOwner");
+            if (!owner.contains("Properties")) {
+                continue;
+            }
+
+            int x = (int) tag.get("x").getValue();
+            int y = (int) tag.get("y").getValue();
+            int z = (int) tag.get("z").getValue();
+            Chunk chunk = column.getChunks()[y >> 4];
+            int blockState = chunk != null ? chunk.get(x & 0xF, y & 0xF, z & 0xF) : AIR;
+            SkullBlockEntityTranslator.spawnPlayer(session, tag, blockState);
+        }
+    }
+
     public static void updateChunkPosition(GeyserSession session, Vector3i position) {
         Vector2i chunkPos = session.getLastChunkPosition();
         Vector2i newChunkPos = Vector2i.from(position.getX() >> 4, position.getZ() >> 4);
@@ -254,7 +333,7 @@ public class ChunkUtils {
                 break; //No block will be a part of two classes
             }
         }
-        session.getChunkCache().updateBlock(new Position(position.getX(), position.getY(), position.getZ()), blockState);
+        session.getChunkCache().updateBlock(position.getX(), position.getY(), position.getZ(), blockState);
     }
 
     public static void sendEmptyChunks(GeyserSession session, Vector3i position, int radius, boolean forceUpdate) {
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ *
+ *  @author GeyserMC
+ *  @link https://github.com/GeyserMC/Geyser
+ *
+ */
+
+package org.geysermc.connector.utils;
+
+import com.github.steveice10.mc.protocol.data.game.chunk.Chunk;
+import com.github.steveice10.opennbt.tag.builtin.*;
+
+/**
+ * Two independent 64 bit hashes of a stream of values, used to identify chunk, item and command contents
+ */
+public class ContentHash {
+    private long h1 = 0x243F6A8885A308D3L;
+    private long h2 = 0x13198A2E03707344L;
+
+    public void add(long value) {
+        h1 = Long.rotateLeft(h1 ^ (value * 0x9E3779B97F4A7C15L), 31) * 0xBF58476D1CE4E5B9L;
+        h2 = Long.rotateLeft(h2 ^ (value * 0xC2B2AE3D27D4EB4FL), 27) * 0x94D049BB133111EBL + 0x165667B19E3779F9L;
+    }
+
+    public void add(String value) {
+        add(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            add(value.charAt(i));
+        }
+    }
+
+    /**
+     * Add the block data of a Java chunk section
+     *
+     * @param chunk the section, which may be null
+     */
+    public void add(Chunk chunk) {
+        if (chunk == null || chunk.isEmpty()) {
+            add(-1);
+            return;
+        }
+
+        int bitsPerEntry = chunk.getStorage().getBitsPerEntry();
+        add(bitsPerEntry);
+        // Above 8 bits per entry the global palette is used which has no entries of its own
+        if (bitsPerEntry <= 8) {
+            int size = chunk.getPalette().size();
+            add(size);
+            for (int i = 0; i < size; i++) {
+                add(chunk.getPalette().idToState(i));
+            }
+        }
+        for (long word : chunk.getStorage().getData()) {
+            add(word);
+        }
+    }
+
+    /**
+     * Add the structure and values of an NBT tag
+     *
+     * @param tag the tag
+     */
+    public void add(Tag tag) {
+        add(tag.getName() != null ? tag.getName() : "");
+
+        if (tag instanceof CompoundTag) {
+            CompoundTag compoundTag = (CompoundTag) tag;
+            add(1);
+            add(compoundTag.getValue().size());
+            for (Tag value : compoundTag.getValue().values()) {
+                add(value);
+            }
+        } else if (tag instanceof ListTag) {
+            ListTag listTag = (ListTag) tag;
+            add(2);
+            add(listTag.size());
+            for (Tag value : listTag) {
+                add(value);
+            }
+        } else if (tag instanceof StringTag) {
+            add(3);
+            add(((StringTag) tag).getValue());
+        } else if (tag instanceof ByteTag) {
+            add(4);
+            add(((ByteTag) tag).getValue());
+        } else if (tag instanceof ShortTag) {
+            add(5);
+            add(((ShortTag) tag).getValue());
+        } else if (tag instanceof IntTag) {
+            add(6);
+            add(((IntTag) tag).getValue());
+        } else if (tag instanceof LongTag) {
+            add(7);
+            add(((LongTag) tag).getValue());
+        } else if (tag instanceof FloatTag) {
+            add(8);
+            add(Float.floatToIntBits(((FloatTag) tag).getValue()));
+        } else if (tag instanceof DoubleTag) {
+            add(9);
+            add(Double.doubleToLongBits(((DoubleTag) tag).getValue()));
+        } else if (tag instanceof ByteArrayTag) {
+            byte[] value = ((ByteArrayTag) tag).getValue();
+            add(10);
+            add(value.length);
+            for (byte b : value) {
+                add(b);
+            }
+        } else if (tag instanceof IntArrayTag) {
+            int[] value = ((IntArrayTag) tag).getValue();
+            add(11);
+            add(value.length);
+            for (int i : value) {
+                add(i);
+            }
+        } else if (tag instanceof LongArrayTag) {
+            long[] value = ((LongArrayTag) tag).getValue();
+            add(12);
+            add(value.length);
+            for (long l : value) {
+                add(l);
+            }
+        } else {
+            // Unknown tag type, fall back to its string form
+            add(0);
+            add(tag.toString());
+        }
+    }
+
+    public long finish1() {
+        return avalanche(h1);
+    }
+
+    public long finish2() {
+        return avalanche(h2);
+    }
+
+    private static long avalanche(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
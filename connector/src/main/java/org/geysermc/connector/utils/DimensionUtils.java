@@ -48,8 +48,10 @@ public class DimensionUtils {
             return;
 
         session.getEntityCache().removeAllEntities();
+        session.getEntityUpdateBuffer().clear();
         session.getItemFrameCache().clear();
         session.getSkullCache().clear();
+        session.getChunkCache().clear();
         if (session.getPendingDimSwitches().getAndIncrement() > 0) {
             ChunkUtils.sendEmptyChunks(session, player.getPosition().toInt(), 3, true);
         }
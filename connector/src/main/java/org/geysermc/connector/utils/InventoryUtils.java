@@ -63,16 +63,25 @@ public class InventoryUtils {
             }
             if (delay > 0) {
                 GeyserConnector.getInstance().getGeneralThreadPool().schedule(() -> {
-                    translator.openInventory(session, inventory);
-                    translator.updateInventory(session, inventory);
+                    // The window may have been closed or replaced while waiting
+                    if (session.getInventoryCache().getOpenInventory() == inventory) {
+                        showInventory(session, translator, inventory);
+                    }
                 }, delay, TimeUnit.MILLISECONDS);
             } else {
-                translator.openInventory(session, inventory);
-                translator.updateInventory(session, inventory);
+                showInventory(session, translator, inventory);
             }
         }
     }
 
+    private static void showInventory(GeyserSession session, InventoryTranslator translator, Inventory inventory) {
+        // Contents sent before the window opened were ignored by the client, so everything has to be sent again
+        inventory.setBedrockItems(null);
+        inventory.setOpen(true);
+        translator.openInventory(session, inventory);
+        translator.updateInventory(session, inventory);
+    }
+
     public static void closeInventory(GeyserSession session, int windowId) {
         if (windowId != 0) {
             Inventory inventory = session.getInventoryCache().getInventories().get(windowId);
@@ -81,6 +90,7 @@ public class InventoryUtils {
             if (inventory != null && openInventory != null && inventory.getId() == openInventory.getId()) {
                 InventoryTranslator translator = InventoryTranslator.INVENTORY_TRANSLATORS.get(inventory.getWindowType());
                 translator.closeInventory(session, inventory);
+                inventory.setOpen(false);
                 session.getInventoryCache().setOpenInventory(null);
             } else {
                 return;
@@ -250,6 +250,16 @@ public class LocaleUtils {
         return localeStrings.getOrDefault(messageText, messageText);
     }
 
+    /**
+     * Check if a locale has been loaded
+     *
+     * @param locale Locale to check
+     * @return True if strings for the locale are available, false if the default locale is used instead
+     */
+    public static boolean isLocaleLoaded(String locale) {
+        return LOCALE_MAPPINGS.containsKey(locale.toLowerCase());
+    }
+
 }
 
 @JsonIgnoreProperties(ignoreUnknown = true)
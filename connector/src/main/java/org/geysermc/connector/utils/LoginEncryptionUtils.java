@@ -34,6 +34,8 @@ import com.nukkitx.network.util.Preconditions;
 import com.nukkitx.protocol.bedrock.packet.LoginPacket;
 import com.nukkitx.protocol.bedrock.packet.ServerToClientHandshakePacket;
 import com.nukkitx.protocol.bedrock.util.EncryptionUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import org.geysermc.common.window.CustomFormBuilder;
 import org.geysermc.common.window.CustomFormWindow;
 import org.geysermc.common.window.FormWindow;
@@ -52,10 +54,8 @@ import org.geysermc.connector.network.session.cache.WindowCache;
 import javax.crypto.SecretKey;
 import java.io.IOException;
 import java.security.KeyPair;
-import java.security.KeyPairGenerator;
 import java.security.PublicKey;
 import java.security.interfaces.ECPublicKey;
-import java.security.spec.ECGenParameterSpec;
 import java.util.UUID;
 
 public class LoginEncryptionUtils {
@@ -72,8 +72,15 @@ public class LoginEncryptionUtils {
         }
     }
 
-    private static boolean validateChainData(JsonNode data) throws Exception {
+    /**
+     * Verify the signatures of a login chain
+     *
+     * @param data the chain
+     * @return whether the chain is signed by Mojang, the payload of its last link and the key of the player
+     */
+    private static ChainData validateChainData(JsonNode data) throws Exception {
         ECPublicKey lastKey = null;
+        JsonNode lastPayload = null;
         boolean validChain = false;
         for (JsonNode node : data) {
             JWSObject jwt = JWSObject.parse(node.asText());
@@ -86,15 +93,29 @@ public class LoginEncryptionUtils {
                 EncryptionUtils.verifyJwt(jwt, lastKey);
             }
 
-            JsonNode payloadNode = JSON_MAPPER.readTree(jwt.getPayload().toString());
-            JsonNode ipkNode = payloadNode.get("identityPublicKey");
+            lastPayload = JSON_MAPPER.readTree(jwt.getPayload().toBytes());
+            JsonNode ipkNode = lastPayload.get("identityPublicKey");
             Preconditions.checkState(ipkNode != null && ipkNode.getNodeType() == JsonNodeType.STRING, "identityPublicKey node is missing in chain");
             lastKey = EncryptionUtils.generateKey(ipkNode.asText());
         }
-        return validChain;
+        Preconditions.checkState(lastPayload != null, "Certificate chain is empty");
+        return new ChainData(validChain, lastPayload, lastKey);
     }
 
+    /**
+     * Verify the login of a player and start encrypting their connection. This is slow and is run on the
+     * {@link org.geysermc.connector.network.session.auth.LoginExecutor}.
+     */
     public static void encryptPlayerConnection(GeyserConnector connector, GeyserSession session, LoginPacket loginPacket) {
+        long start = System.nanoTime();
+        try {
+            verifyAndEncrypt(connector, session, loginPacket);
+        } finally {
+            connector.getLoginExecutor().recordCrypto(System.nanoTime() - start);
+        }
+    }
+
+    private static void verifyAndEncrypt(GeyserConnector connector, GeyserSession session, LoginPacket loginPacket) {
         JsonNode certData;
         try {
             certData = JSON_MAPPER.readTree(loginPacket.getChainData().toByteArray());
@@ -112,12 +133,11 @@ public class LoginEncryptionUtils {
 
     private static void encryptConnectionWithCert(GeyserConnector connector, GeyserSession session, String clientData, JsonNode certChainData) {
         try {
-            boolean validChain = validateChainData(certChainData);
+            ChainData chainData = validateChainData(certChainData);
 
-            connector.getLogger().debug(String.format("Is player data valid? %s", validChain));
+            connector.getLogger().debug(String.format("Is player data valid? %s", chainData.isValid()));
 
-            JWSObject jwt = JWSObject.parse(certChainData.get(certChainData.size() - 1).asText());
-            JsonNode payload = JSON_MAPPER.readTree(jwt.getPayload().toBytes());
+            JsonNode payload = chainData.getPayload();
 
             if (payload.get("extraData").getNodeType() != JsonNodeType.OBJECT) {
                 throw new RuntimeException("AuthData was not found!");
@@ -130,11 +150,7 @@ public class LoginEncryptionUtils {
                     extraData.get("XUID").asText()
             ));
 
-            if (payload.get("identityPublicKey").getNodeType() != JsonNodeType.STRING) {
-                throw new RuntimeException("Identity Public Key was not found!");
-            }
-
-            ECPublicKey identityPublicKey = EncryptionUtils.generateKey(payload.get("identityPublicKey").textValue());
+            ECPublicKey identityPublicKey = chainData.getIdentityPublicKey();
             JWSObject clientJwt = JWSObject.parse(clientData);
             EncryptionUtils.verifyJwt(clientJwt, identityPublicKey);
 
@@ -155,9 +171,7 @@ public class LoginEncryptionUtils {
             return;
         }
 
-        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
-        generator.initialize(new ECGenParameterSpec("secp384r1"));
-        KeyPair serverKeyPair = generator.generateKeyPair();
+        KeyPair serverKeyPair = session.getConnector().getLoginExecutor().getKeyPairPool().take();
 
         byte[] token = EncryptionUtils.generateRandomToken();
         SecretKey encryptionKey = EncryptionUtils.getSecretKey(serverKeyPair.getPrivate(), key, token);
@@ -233,6 +247,14 @@ public class LoginEncryptionUtils {
         return true;
     }
 
+    @Getter
+    @AllArgsConstructor
+    private static class ChainData {
+        private final boolean valid;
+        private final JsonNode payload;
+        private final ECPublicKey identityPublicKey;
+    }
+
     public interface Shim {
         void startEncryptionHandshake(GeyserSession session, PublicKey key) throws Exception;
     }
@@ -31,6 +31,16 @@ public class MathUtils {
 
     public static final double SQRT_OF_TWO = Math.sqrt(2);
 
+    private static final double[] POWERS_OF_TEN = new double[18];
+
+    static {
+        double power = 1;
+        for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = power;
+            power *= 10;
+        }
+    }
+
     /**
      * Round the given float to the next whole number
      *
@@ -42,6 +52,45 @@ public class MathUtils {
         return floatNumber > truncated ? truncated + 1 : truncated;
     }
 
+    /**
+     * Convert a float to the double closest to its shortest decimal representation.
+     * Casting a float to a double keeps the binary error of the float (0.3f becomes 0.30000001192092896),
+     * which causes players to get stuck when walking near walls. This gives the same result as
+     * {@code Double.parseDouble(Float.toString(value))} without creating any strings.
+     *
+     * @param value Float to convert
+     * @return The double closest to the decimal value of the float
+     */
+    public static double floatToDecimal(float value) {
+        if (value == 0 || Float.isNaN(value) || Float.isInfinite(value)) {
+            return value;
+        }
+        double exact = value;
+        if (Math.abs(exact) >= 16777216) {
+            // Every float this large is a whole number; drop as many trailing digits as possible
+            for (int digits = 8; digits > 0; digits--) {
+                double candidate = Math.rint(exact / POWERS_OF_TEN[digits]) * POWERS_OF_TEN[digits];
+                if ((float) candidate == value) {
+                    return candidate;
+                }
+            }
+            return exact;
+        }
+        // Find the fewest decimal places that still round back to the same float
+        for (int digits = 0; digits < POWERS_OF_TEN.length; digits++) {
+            double scaled = exact * POWERS_OF_TEN[digits];
+            if (Math.abs(scaled) >= 9007199254740992D) {
+                // No longer exact as a double
+                break;
+            }
+            double candidate = Math.rint(scaled) / POWERS_OF_TEN[digits];
+            if ((float) candidate == value) {
+                return candidate;
+            }
+        }
+        return exact;
+    }
+
     /**
      * Converts the given object from an int or byte to byte.
      * This is used for NBT data that might be either an int
@@ -57,6 +106,17 @@ public class MathUtils {
         return (Byte) value;
     }
 
+    /**
+     * Packs a chunk position into a long, with X in the high 32 bits and Z in the low 32 bits
+     *
+     * @param x Chunk X coordinate
+     * @param z Chunk Z coordinate
+     * @return The packed position
+     */
+    public static long chunkPositionToLong(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
     /**
      * Taxicab distance is given by adding the difference in each direction.
      * https://en.wikipedia.org/wiki/Taxicab_geometry
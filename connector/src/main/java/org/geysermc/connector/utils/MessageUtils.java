@@ -33,19 +33,33 @@ import com.github.steveice10.mc.protocol.data.message.TranslationMessage;
 import com.github.steveice10.mc.protocol.data.message.style.ChatColor;
 import com.github.steveice10.mc.protocol.data.message.style.ChatFormat;
 import com.github.steveice10.mc.protocol.data.message.style.MessageStyle;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.geysermc.connector.network.session.GeyserSession;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class MessageUtils {
 
+    // Translated messages are shared by all sessions using the same locale
+    private static final int TRANSLATION_CACHE_SIZE = 4096;
+    private static final Cache<TranslationKey, Object> TRANSLATION_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(TRANSLATION_CACHE_SIZE)
+            .build();
+    private static final Cache<String, ParamTemplate> PARAM_TEMPLATES = CacheBuilder.newBuilder()
+            .maximumSize(TRANSLATION_CACHE_SIZE)
+            .build();
+
     private static final Map<String, Integer> COLORS = new HashMap<>();
     private static final Map<TeamColor, String> TEAM_COLORS = new HashMap<>();
 
@@ -97,7 +111,18 @@ public class MessageUtils {
      * @param parent A {@link Message} to use as the parent (can be null)
      * @return
      */
+    @SuppressWarnings("unchecked")
     public static List<String> getTranslationParams(List<Message> messages, String locale, Message parent) {
+        TranslationKey key = new TranslationKey(messages, locale, true, parent);
+        List<String> strings = (List<String>) getCachedTranslation(key);
+        if (strings == null) {
+            strings = Collections.unmodifiableList(translateParams(messages, locale, parent));
+            cacheTranslation(key, strings);
+        }
+        return strings;
+    }
+
+    private static List<String> translateParams(List<Message> messages, String locale, Message parent) {
         List<String> strings = new ArrayList<>();
         for (Message message : messages) {
             message = fixMessageStyle(message, parent);
@@ -120,7 +145,7 @@ public class MessageUtils {
 
                 // Collect all params and add format corrections to the end of them
                 List<String> furtherParams = new ArrayList<>();
-                for (String param : getTranslationParams(translation.getWith(), locale, message)) {
+                for (String param : translateParams(translation.getWith(), locale, message)) {
                     String newParam = param;
                     if (parent.getStyle().getFormats().size() != 0) {
                         newParam += getFormat(parent.getStyle().getFormats());
@@ -140,7 +165,7 @@ public class MessageUtils {
             } else {
                 String builder = getFormat(message.getStyle().getFormats()) +
                         getColor(message.getStyle().getColor());
-                builder += getTranslatedBedrockMessage(message, locale, false, parent);
+                builder += translateBedrockMessage(message, locale, false, parent);
                 strings.add(builder);
             }
         }
@@ -166,12 +191,16 @@ public class MessageUtils {
      * @return
      */
     public static String getTranslatedBedrockMessage(Message message, String locale, boolean shouldTranslate, Message parent) {
-        JsonParser parser = new JsonParser();
-        if (isMessage(message.toString())) {
-            JsonObject object = parser.parse(message.toString()).getAsJsonObject();
-            message = MessageSerializer.fromJson(object);
+        TranslationKey key = new TranslationKey(message, locale, shouldTranslate, parent);
+        String translated = (String) getCachedTranslation(key);
+        if (translated == null) {
+            translated = translateBedrockMessage(message, locale, shouldTranslate, parent);
+            cacheTranslation(key, translated);
         }
+        return translated;
+    }
 
+    private static String translateBedrockMessage(Message message, String locale, boolean shouldTranslate, Message parent) {
         message = fixMessageStyle(message, parent);
 
         String messageText = (message instanceof TranslationMessage) ? ((TranslationMessage) message).getKey() : ((TextMessage) message).getText();
@@ -192,10 +221,10 @@ public class MessageUtils {
                 String extraText = "";
 
                 if (isTranslationMessage) {
-                    List<String> paramsTranslated =  getTranslationParams(((TranslationMessage) msg).getWith(), locale, message);
-                    extraText = insertParams(getTranslatedBedrockMessage(msg, locale, isTranslationMessage, message), paramsTranslated);
+                    List<String> paramsTranslated = translateParams(((TranslationMessage) msg).getWith(), locale, message);
+                    extraText = insertParams(translateBedrockMessage(msg, locale, isTranslationMessage, message), paramsTranslated);
                 } else {
-                    extraText = getTranslatedBedrockMessage(msg, locale, isTranslationMessage, message);
+                    extraText = translateBedrockMessage(msg, locale, isTranslationMessage, message);
                 }
 
                 builder.append(extraText);
@@ -206,6 +235,17 @@ public class MessageUtils {
         return builder.toString();
     }
 
+    private static Object getCachedTranslation(TranslationKey key) {
+        return TRANSLATION_CACHE.getIfPresent(key);
+    }
+
+    private static void cacheTranslation(TranslationKey key, Object translation) {
+        // Don't keep translations made with the default locale while the requested one is still loading
+        if (key.locale == null || LocaleUtils.isLocaleLoaded(key.locale)) {
+            TRANSLATION_CACHE.put(key, translation);
+        }
+    }
+
     /**
      * If the passed {@link Message} color or format are empty then copy from parent
      *
@@ -279,25 +319,12 @@ public class MessageUtils {
      * @return Parsed message with all params inserted as needed
      */
     public static String insertParams(String message, List<String> params) {
-        String newMessage = message;
-
-        Pattern p = Pattern.compile("%([1-9])\\$s");
-        Matcher m = p.matcher(message);
-        while (m.find()) {
-            try {
-                newMessage = newMessage.replaceFirst("%" + m.group(1) + "\\$s", params.get(Integer.parseInt(m.group(1)) - 1));
-            } catch (Exception e) {
-                // Couldn't find the param to replace
-            }
-        }
-
-        for (String text : params) {
-            newMessage = newMessage.replaceFirst("%s", text.replaceAll("%s", "%r"));
+        ParamTemplate template = PARAM_TEMPLATES.getIfPresent(message);
+        if (template == null) {
+            template = new ParamTemplate(message);
+            PARAM_TEMPLATES.put(message, template);
         }
-
-        newMessage = newMessage.replaceAll("%r", "MISSING!");
-
-        return newMessage;
+        return template.format(params);
     }
 
     /**
@@ -456,18 +483,171 @@ public class MessageUtils {
      * @return True if its a valid message json string, false if not
      */
     public static boolean isMessage(String text) {
-        JsonParser parser = new JsonParser();
+        return parseMessage(text) != null;
+    }
+
+    /**
+     * Parse the given text string as a json message. Plain text is rejected
+     * before it reaches the json parser, so it doesn't throw any exceptions.
+     *
+     * @param text String to parse
+     * @return The parsed message or null if the text isn't a valid message json string
+     */
+    public static Message parseMessage(String text) {
+        if (!isJsonObject(text)) {
+            return null;
+        }
+
         try {
-            JsonObject object = parser.parse(text).getAsJsonObject();
-            try {
-                MessageSerializer.fromJson(object);
-            } catch (Exception ex) {
-                return false;
+            JsonElement element = new JsonParser().parse(text);
+            if (!element.isJsonObject()) {
+                return null;
             }
+            return MessageSerializer.fromJson(element.getAsJsonObject());
         } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Quickly check if the given text could be a json object: it must start and end
+     * with braces and its braces and brackets outside of strings must be balanced
+     *
+     * @param text String to check
+     * @return False if the text certainly isn't a json object
+     */
+    private static boolean isJsonObject(String text) {
+        int start = 0;
+        int end = text.length() - 1;
+        while (start <= end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end))) {
+            end--;
+        }
+        if (start >= end || text.charAt(start) != '{' || text.charAt(end) != '}') {
             return false;
         }
-        return true;
+
+        int depth = 0;
+        char quote = 0;
+        for (int i = start; i <= end; i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"':
+                case '\'':
+                    quote = c;
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    depth--;
+                    // The object must only close at the end
+                    if (depth < 0 || (depth == 0 && i != end)) {
+                        return false;
+                    }
+                    break;
+            }
+        }
+        return depth == 0 && quote == 0;
+    }
+
+    /**
+     * Key of a translated message or list of translated parameters
+     */
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class TranslationKey {
+        private final Object message;
+        private final String locale;
+        private final boolean shouldTranslate;
+        private final Message parent;
+    }
+
+    /**
+     * A message split once into its text and its parameter placeholders, which are
+     * either positional (%1$s) or filled in order (%s)
+     */
+    private static class ParamTemplate {
+        private final List<String> texts = new ArrayList<>();
+        // Positional placeholders are stored as their index, others as -1
+        private final IntList params = new IntArrayList();
+        private final String[] placeholders;
+
+        ParamTemplate(String message) {
+            List<String> placeholders = new ArrayList<>();
+            int textStart = 0;
+            int i = 0;
+            while (i < message.length() - 1) {
+                if (message.charAt(i) != '%') {
+                    i++;
+                    continue;
+                }
+
+                char next = message.charAt(i + 1);
+                int end;
+                int param;
+                if (next == 's') {
+                    end = i + 2;
+                    param = -1;
+                } else if (next >= '1' && next <= '9' && i + 3 < message.length() &&
+                        message.charAt(i + 2) == '$' && message.charAt(i + 3) == 's') {
+                    end = i + 4;
+                    param = next - '1';
+                } else {
+                    i++;
+                    continue;
+                }
+
+                texts.add(message.substring(textStart, i));
+                params.add(param);
+                placeholders.add(message.substring(i, end));
+                textStart = end;
+                i = end;
+            }
+            texts.add(message.substring(textStart));
+
+            // Any %r left in the message is from a parameter that could not be filled
+            texts.replaceAll(text -> text.replace("%r", "MISSING!"));
+            this.placeholders = placeholders.toArray(new String[0]);
+        }
+
+        String format(List<String> values) {
+            StringBuilder builder = new StringBuilder();
+            int nextValue = 0;
+            for (int i = 0; i < params.size(); i++) {
+                builder.append(texts.get(i));
+
+                int param = params.getInt(i);
+                String value;
+                if (param == -1) {
+                    value = nextValue < values.size() ? values.get(nextValue++) : null;
+                } else {
+                    value = param < values.size() ? values.get(param) : null;
+                }
+
+                if (value != null) {
+                    builder.append(value.replace("%s", "MISSING!"));
+                } else {
+                    // Couldn't find the param to replace
+                    builder.append(placeholders[i]);
+                }
+            }
+            builder.append(texts.get(params.size()));
+            return builder.toString();
+        }
     }
 
     public static String toChatColor(TeamColor teamColor) {
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ *
+ *  @author GeyserMC
+ *  @link https://github.com/GeyserMC/Geyser
+ *
+ */
+
+package org.geysermc.connector.event.handlers;
+
+import org.geysermc.connector.event.GeyserEvent;
+import org.geysermc.connector.event.annotations.GeyserEventHandler;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class MethodEventHandlerTest {
+
+    @Test
+    public void invokesHandlerFromSameClassLoader() throws Exception {
+        Listener listener = new Listener();
+        MethodEventHandler<TestEvent> handler = new MethodEventHandler<>(null, listener, Listener.class.getMethod("onEvent", TestEvent.class));
+
+        TestEvent event = new TestEvent();
+        handler.execute(event);
+        assertEquals(1, event.calls);
+    }
+
+    @Test
+    public void invokesHandlerFromChildClassLoader() throws Exception {
+        // Load the listener again in a class loader our class loader can't see into, like a plugin class loader
+        Class<?> listenerClass = new ChildFirstClassLoader(getClass().getClassLoader(), Listener.class.getName())
+                .loadClass(Listener.class.getName());
+        assertNotSame(Listener.class, listenerClass);
+
+        Object listener = listenerClass.getConstructor().newInstance();
+        MethodEventHandler<TestEvent> handler = new MethodEventHandler<>(null, listener, listenerClass.getMethod("onEvent", TestEvent.class));
+
+        TestEvent event = new TestEvent();
+        handler.execute(event);
+        handler.execute(event);
+        assertEquals(2, event.calls);
+    }
+
+    public static class TestEvent extends GeyserEvent {
+        public int calls;
+    }
+
+    public static class Listener {
+        @GeyserEventHandler
+        public void onEvent(TestEvent event) {
+            event.calls++;
+        }
+    }
+
+    /**
+     * Defines one class itself and delegates everything else to its parent
+     */
+    private static class ChildFirstClassLoader extends ClassLoader {
+        private final String className;
+
+        ChildFirstClassLoader(ClassLoader parent, String className) {
+            super(parent);
+            this.className = className;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(className)) {
+                return super.loadClass(name, resolve);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> clazz = findLoadedClass(name);
+                if (clazz == null) {
+                    byte[] bytes = readClass(name);
+                    clazz = defineClass(name, bytes, 0, bytes.length);
+                }
+                return clazz;
+            }
+        }
+
+        private byte[] readClass(String name) throws ClassNotFoundException {
+            try (InputStream stream = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                if (stream == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = stream.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+}